@@ -0,0 +1,75 @@
+#!/usr/bin/env bash
+# Checks that the hot queries are planned on the index meant for them. Each query is
+# EXPLAINed for a real user and the plan must name the expected index (or, once
+# card_progress is partitioned, one of that index's partitions). Sequential scans
+# are disabled for the check, so it verifies the index is usable even on a small
+# development database where the planner would rightly prefer a scan.
+#
+# Needs psql; connection from the usual PG* variables or DATABASE_URL.
+# Usage: scripts/explain-access-paths.sh [user-id]   (schema migrated, some data present)
+set -euo pipefail
+
+PSQL=(psql -X -q -A -t -v ON_ERROR_STOP=1)
+if [[ -n "${DATABASE_URL:-}" ]]; then
+  PSQL+=("$DATABASE_URL")
+fi
+
+sql() {
+  "${PSQL[@]}" -c "$1"
+}
+
+USER_ID=${1:-$(sql "SELECT user_id FROM decks LIMIT 1")}
+if [[ -z "$USER_ID" ]]; then
+  echo "no decks found; pass a user id" >&2
+  exit 1
+fi
+DECK_ID=$(sql "SELECT id FROM decks WHERE user_id = '$USER_ID' LIMIT 1")
+DECK_ID=${DECK_ID:-00000000-0000-0000-0000-000000000000}
+
+failures=0
+
+# expect <index> <query>: the plan must use the index or one of its partition indexes
+expect() {
+  local index=$1 query=$2 names plan
+  names=$(sql "SELECT '$index' UNION ALL SELECT c.relname FROM pg_inherits i
+               JOIN pg_class c ON c.oid = i.inhrelid JOIN pg_class p ON p.oid = i.inhparent
+               WHERE p.relname = '$index'")
+  plan=$("${PSQL[@]}" -c "SET enable_seqscan = off" -c "EXPLAIN $query")
+  if grep -qwFf <(echo "$names") <<< "$plan"; then
+    printf 'ok    %s\n' "$index"
+  else
+    printf 'FAIL  %s\n%s\n\n' "$index" "$plan"
+    failures=$((failures + 1))
+  fi
+}
+
+expect idx_card_progress_review_queue \
+  "SELECT * FROM card_progress WHERE user_id = '$USER_ID' AND status <> 'MASTERED'
+   ORDER BY status DESC, last_reviewed_at"
+expect idx_card_progress_user_change_seq \
+  "SELECT * FROM card_progress WHERE user_id = '$USER_ID' AND change_seq > 0"
+expect idx_card_progress_user_reviewed \
+  "SELECT count(*) FROM card_progress WHERE user_id = '$USER_ID' AND last_reviewed_at >= now() - interval '1 day'"
+expect idx_card_progress_card \
+  "SELECT * FROM card_progress WHERE card_id = '$DECK_ID'"
+expect idx_decks_user_updated \
+  "SELECT * FROM decks WHERE user_id = '$USER_ID' ORDER BY updated_at DESC"
+expect idx_decks_user_change_seq \
+  "SELECT * FROM decks WHERE user_id = '$USER_ID' AND change_seq > 0"
+expect idx_decks_source_deck \
+  "SELECT * FROM decks WHERE source_deck_id = '$DECK_ID'"
+expect idx_decks_updated_at \
+  "SELECT id FROM decks WHERE updated_at < now() - interval '6 months' ORDER BY updated_at LIMIT 50"
+expect idx_cards_deck_created \
+  "SELECT * FROM cards WHERE deck_id = '$DECK_ID' ORDER BY created_at"
+expect idx_cards_deck_change_seq \
+  "SELECT * FROM cards WHERE deck_id = '$DECK_ID' AND change_seq > 0"
+expect idx_cards_source_card \
+  "SELECT * FROM cards WHERE source_card_id = '$DECK_ID'"
+expect idx_tombstones_user_change_seq \
+  "SELECT * FROM tombstones WHERE user_id = '$USER_ID' AND change_seq > 0"
+
+if (( failures > 0 )); then
+  echo "$failures access path(s) not on their index" >&2
+  exit 1
+fi
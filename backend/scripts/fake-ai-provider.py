@@ -0,0 +1,72 @@
+#!/usr/bin/env python3
+"""Local stand-in for the card generation provider.
+
+Implements POST /v1/cards/batch and the NDJSON POST /v1/cards/stream, and logs every
+call, so micro-batching, caching and stream cancellation can be checked by eye. Run it, then start the backend with
+AI_ENABLED=true AI_BASE_URL=http://localhost:9090.
+
+Usage: scripts/fake-ai-provider.py [port] [latency-ms]
+"""
+import json
+import sys
+import time
+from http.server import BaseHTTPRequestHandler, ThreadingHTTPServer
+
+PORT = int(sys.argv[1]) if len(sys.argv) > 1 else 9090
+LATENCY = (int(sys.argv[2]) if len(sys.argv) > 2 else 300) / 1000.0
+
+
+class Handler(BaseHTTPRequestHandler):
+    protocol_version = "HTTP/1.1"
+
+    def do_POST(self):
+        if self.path == "/v1/cards/stream":
+            self.stream_cards()
+            return
+        if self.path != "/v1/cards/batch":
+            self.send_error(404)
+            return
+
+        body = json.loads(self.rfile.read(int(self.headers.get("Content-Length", 0))))
+        requests = body.get("requests", [])
+        print(f"batch of {len(requests)}: " + ", ".join(f"{r['topic']} x{r['count']}" for r in requests), flush=True)
+        time.sleep(LATENCY)
+
+        results = [
+            {"cards": [{"frontText": f"{r['topic']} question {i}", "backText": f"{r['topic']} answer {i}"}
+                       for i in range(1, r["count"] + 1)]}
+            for r in requests
+        ]
+        payload = json.dumps({"results": results}).encode()
+        self.send_response(200)
+        self.send_header("Content-Type", "application/json")
+        self.send_header("Content-Length", str(len(payload)))
+        self.end_headers()
+        self.wfile.write(payload)
+
+    def stream_cards(self):
+        body = json.loads(self.rfile.read(int(self.headers.get("Content-Length", 0))))
+        topic, count = body["topic"], body["count"]
+        print(f"stream: {topic} x{count}", flush=True)
+        self.send_response(200)
+        self.send_header("Content-Type", "application/x-ndjson")
+        self.send_header("Transfer-Encoding", "chunked")
+        self.end_headers()
+        try:
+            for i in range(1, count + 1):
+                time.sleep(LATENCY)
+                line = json.dumps({"frontText": f"{topic} question {i}", "backText": f"{topic} answer {i}"}) + "\n"
+                data = line.encode()
+                self.wfile.write(f"{len(data):x}\r\n".encode() + data + b"\r\n")
+                self.wfile.flush()
+            self.wfile.write(b"0\r\n\r\n")
+        except (BrokenPipeError, ConnectionResetError):
+            print(f"stream cancelled: {topic} after {i - 1} cards", flush=True)
+
+    def log_message(self, fmt, *args):
+        pass
+
+
+if __name__ == "__main__":
+    print(f"fake provider on :{PORT}, {int(LATENCY * 1000)} ms per batch or card", flush=True)
+    ThreadingHTTPServer(("", PORT), Handler).serve_forever()
@@ -0,0 +1,67 @@
+#!/usr/bin/env bash
+# Measures time-to-first-request of the backend in three modes: the default JVM
+# start, the fast-startup profile with AOT, and the same with an AppCDS archive.
+# Each mode is started RUNS times against the same database; the script reports
+# the time from process launch until /actuator/health first answers 200.
+#
+# Usage: scripts/startup-benchmark.sh [runs]   (run from backend/, database up and migrated)
+set -euo pipefail
+
+RUNS=${1:-5}
+PORT=${PORT:-8080}
+URL="http://localhost:${PORT}/actuator/health"
+WORK=target/startup-benchmark
+MAIN_CLASS=com.cardify.CardifyApplication
+
+build() {
+  mvn -q -B -DskipTests -Pfast-startup package
+  rm -rf "$WORK" && mkdir -p "$WORK/app"
+  # CDS archives classes from plain jars only, so run from the unpacked fat jar
+  local jar
+  jar=$(ls target/*.jar | grep -v '\.original$' | head -n 1)
+  (cd "$WORK/app" && jar -xf "$OLDPWD/$jar")
+}
+
+classpath() {
+  echo "$WORK/app/BOOT-INF/classes:$WORK/app/BOOT-INF/lib/*"
+}
+
+time_to_first_request() {
+  local start end pid
+  start=$(date +%s%N)
+  java "$@" -cp "$(classpath)" "$MAIN_CLASS" --server.port="$PORT" > "$WORK/last-run.log" 2>&1 &
+  pid=$!
+  until curl -sf -o /dev/null "$URL"; do
+    if ! kill -0 "$pid" 2>/dev/null; then
+      echo "backend exited during startup, see $WORK/last-run.log" >&2
+      exit 1
+    fi
+    sleep 0.05
+  done
+  end=$(date +%s%N)
+  kill "$pid" && wait "$pid" 2>/dev/null || true
+  echo $(( (end - start) / 1000000 ))
+}
+
+report() {
+  local name=$1; shift
+  local samples=()
+  for _ in $(seq "$RUNS"); do
+    samples+=("$(time_to_first_request "$@")")
+  done
+  local median
+  median=$(printf '%s\n' "${samples[@]}" | sort -n | awk '{a[NR]=$1} END {print a[int((NR+1)/2)]}')
+  printf '%-28s median %6s ms   runs: %s\n' "$name" "$median" "${samples[*]}"
+}
+
+build
+
+# Training run: starts the context, exits after refresh and dumps the loaded classes
+java -XX:ArchiveClassesAtExit="$WORK/app.jsa" -Dspring.context.exit=onRefresh \
+  -Dspring.aot.enabled=true -Dspring.profiles.active=fast-startup \
+  -cp "$(classpath)" "$MAIN_CLASS" > "$WORK/cds-training.log" 2>&1 || true
+
+report "default"
+report "fast-startup + AOT" -Dspring.aot.enabled=true -Dspring.profiles.active=fast-startup
+report "fast-startup + AOT + CDS" -XX:SharedArchiveFile="$WORK/app.jsa" \
+  -Dspring.aot.enabled=true -Dspring.profiles.active=fast-startup
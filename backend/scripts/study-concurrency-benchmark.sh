@@ -0,0 +1,54 @@
+#!/usr/bin/env bash
+# Compares how many concurrent study requests the blocking and the reactive endpoints
+# sustain when the database is slow. Postgres is reached through toxiproxy with added
+# latency, and Tomcat runs with a small request thread pool so the limit shows quickly.
+#
+# Needs: a running toxiproxy-server, toxiproxy-cli, hey, curl and jq; Postgres on 5432
+# with the schema migrated and the seeded test user.
+# Usage: scripts/study-concurrency-benchmark.sh [latency-ms] [request-threads]
+set -euo pipefail
+
+LATENCY_MS=${1:-50}
+REQUEST_THREADS=${2:-20}
+PORT=${PORT:-8080}
+PROXY_PORT=${PROXY_PORT:-15432}
+BASE="http://localhost:${PORT}"
+WORK=target/study-benchmark
+mkdir -p "$WORK"
+
+toxiproxy-cli delete cardify-db >/dev/null 2>&1 || true
+toxiproxy-cli create -l "localhost:${PROXY_PORT}" -u localhost:5432 cardify-db
+toxiproxy-cli toxic add -t latency -a latency="$LATENCY_MS" cardify-db
+
+mvn -q -B -DskipTests package
+jar=$(ls target/*.jar | head -n 1)
+java -jar "$jar" \
+  --server.port="$PORT" \
+  --server.tomcat.threads.max="$REQUEST_THREADS" \
+  --spring.datasource.url="jdbc:postgresql://localhost:${PROXY_PORT}/cardify" \
+  --concurrency.limit.initial=100000 --concurrency.limit.min=100000 --concurrency.limit.max=100000 \
+  --warmup.enabled=false > "$WORK/backend.log" 2>&1 &
+pid=$!
+trap 'kill $pid 2>/dev/null || true; toxiproxy-cli delete cardify-db >/dev/null 2>&1 || true' EXIT
+
+until curl -sf -o /dev/null "$BASE/actuator/health/readiness"; do sleep 0.5; done
+
+token=$(curl -sf -H 'Content-Type: application/json' \
+  -d '{"email":"test@cardify.com","password":"password123"}' "$BASE/api/auth/login" | jq -r .token)
+deck=$(curl -sf -H "Authorization: Bearer $token" "$BASE/api/decks" | jq -r '.[0].id')
+
+run() {
+  local name=$1 url=$2 concurrency=$3
+  local summary
+  summary=$(hey -z 20s -c "$concurrency" -H "Authorization: Bearer $token" "$url")
+  printf '%-10s c=%-5s %s  p99 %s  non-2xx %s\n' "$name" "$concurrency" \
+    "$(echo "$summary" | awk '/Requests\/sec/ {print $2 " req/s"}')" \
+    "$(echo "$summary" | awk '/99% in/ {print $3 "s"}')" \
+    "$(echo "$summary" | awk '/\[[3-5][0-9][0-9]\]/ {n += $2} END {print n + 0}')"
+}
+
+echo "database latency ${LATENCY_MS} ms, ${REQUEST_THREADS} request threads"
+for c in 10 50 200 1000; do
+  run blocking "$BASE/api/decks/$deck/study" "$c"
+  run reactive "$BASE/api/study/rx/decks/$deck" "$c"
+done
@@ -0,0 +1,63 @@
+#!/usr/bin/env bash
+# Compares random (v4) and time-ordered (v7) primary keys on insert. Each variant
+# loads ROWS rows into a fresh table keyed by a uuid primary key, RUNS times; the
+# script reports the insert time and the size of the primary key index afterwards.
+# v7 keys come from a SQL function with the same layout as UuidV7Generator, except
+# that rand_a is random rather than a counter, so keys are ordered per millisecond.
+#
+# Needs psql; connection from the usual PG* variables or DATABASE_URL.
+# Usage: scripts/uuid-insert-benchmark.sh [rows] [runs]   (scratch database: creates and drops bench_uuid_* tables)
+set -euo pipefail
+
+ROWS=${1:-1000000}
+RUNS=${2:-3}
+
+PSQL=(psql -X -q -A -t -v ON_ERROR_STOP=1)
+if [[ -n "${DATABASE_URL:-}" ]]; then
+  PSQL+=("$DATABASE_URL")
+fi
+
+sql() {
+  "${PSQL[@]}" -c "$1"
+}
+
+# 48-bit millisecond timestamp over the first six bytes of a v4 uuid, then the version nibble set to 7
+UUID_V7_FUNCTION="
+CREATE FUNCTION pg_temp.uuid_v7() RETURNS uuid AS \$\$
+  SELECT encode(set_bit(set_bit(
+    overlay(uuid_send(gen_random_uuid())
+            PLACING substring(int8send(floor(extract(epoch FROM clock_timestamp()) * 1000)::bigint) FROM 3)
+            FROM 1 FOR 6),
+    52, 1), 53, 1), 'hex')::uuid
+\$\$ LANGUAGE sql VOLATILE;"
+
+# Prints "<insert ms> <primary key index bytes>"
+load() {
+  local table=$1 key=$2
+  local start end
+  sql "DROP TABLE IF EXISTS $table; CREATE TABLE $table (id uuid PRIMARY KEY, payload text NOT NULL)"
+  start=$(date +%s%N)
+  sql "$UUID_V7_FUNCTION
+       INSERT INTO $table (id, payload) SELECT $key, md5(i::text) FROM generate_series(1, $ROWS) AS i"
+  end=$(date +%s%N)
+  echo "$(( (end - start) / 1000000 )) $(sql "SELECT pg_relation_size('${table}_pkey')")"
+  sql "DROP TABLE $table"
+}
+
+report() {
+  local name=$1 table=$2 key=$3
+  local times=() sizes=() sample
+  for _ in $(seq "$RUNS"); do
+    sample=$(load "$table" "$key")
+    times+=("${sample% *}")
+    sizes+=("${sample#* }")
+  done
+  local median size
+  median=$(printf '%s\n' "${times[@]}" | sort -n | awk '{a[NR]=$1} END {print a[int((NR+1)/2)]}')
+  size=$(printf '%s\n' "${sizes[@]}" | sort -n | awk '{a[NR]=$1} END {print a[int((NR+1)/2)]}')
+  printf '%-12s median %7s ms   pkey %6s MiB   runs: %s\n' "$name" "$median" "$(( size / 1048576 ))" "${times[*]}"
+}
+
+echo "inserting $ROWS rows per run"
+report "uuid v4" bench_uuid_v4 "gen_random_uuid()"
+report "uuid v7" bench_uuid_v7 "pg_temp.uuid_v7()"
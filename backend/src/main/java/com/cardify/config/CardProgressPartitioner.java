@@ -0,0 +1,142 @@
+package com.cardify.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Hash-partitions card_progress by user_id on PostgreSQL so every
+ * user-scoped query is pruned to a single partition. A normal start never
+ * touches the table: the rebalance into card-progress.partitions runs only as a
+ * one-off job, started with --rebalance-card-progress, which exits once done.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Workload(Workload.Pool.BACKGROUND)
+public class CardProgressPartitioner implements ApplicationRunner {
+
+    public static final String REBALANCE_OPTION = "rebalance-card-progress";
+
+    private static final String TABLE = "card_progress";
+
+    @Value("${sharding.card-progress.partitions:0}")
+    private int partitions;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final DatabaseVendor databaseVendor;
+    private final ConfigurableApplicationContext context;
+
+    public CardProgressPartitioner(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                   DatabaseVendor databaseVendor, ConfigurableApplicationContext context) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.databaseVendor = databaseVendor;
+        this.context = context;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!args.containsOption(REBALANCE_OPTION)) {
+            return;
+        }
+
+        int exitCode = rebalanceToConfiguredLayout();
+        // A one-off job: the process exits instead of going on to serve requests
+        System.exit(SpringApplication.exit(context, () -> exitCode));
+    }
+
+    private int rebalanceToConfiguredLayout() {
+        if (partitions <= 0 || !databaseVendor.isPostgres()) {
+            System.err.println("card_progress rebalance needs PostgreSQL and sharding.card-progress.partitions > 0");
+            return 1;
+        }
+        int current = currentPartitionCount();
+        if (current != partitions && rebalance(partitions)) {
+            System.out.println("card_progress rebalanced from " + current + " to " + partitions + " hash partitions");
+        } else {
+            System.out.println("card_progress already has " + partitions + " hash partitions");
+        }
+        return 0;
+    }
+
+    /**
+     * Rebuilds card_progress as a table hash-partitioned into the given number
+     * of partitions and moves every row across. Runs in a single transaction
+     * holding an exclusive lock, so it should be scheduled outside peak hours.
+     * Returns false if the table already had that layout once the lock was held,
+     * as when another run of the job got there first.
+     */
+    public boolean rebalance(int partitionCount) {
+        if (partitionCount <= 0) {
+            throw new IllegalArgumentException("Partition count must be positive");
+        }
+
+        String target = TABLE + "_h" + partitionCount;
+
+        Boolean rebalanced = transactionTemplate.execute(status -> {
+            // Copies the whole table, which no pool's statement timeout allows for
+            jdbcTemplate.execute("SET LOCAL statement_timeout = 0");
+            jdbcTemplate.execute("LOCK TABLE " + TABLE + " IN ACCESS EXCLUSIVE MODE");
+            if (currentPartitionCount() == partitionCount) {
+                return false;
+            }
+
+            // Secondary indexes come from the migrations; they are recreated verbatim after the swap
+            List<String> indexDefinitions = jdbcTemplate.queryForList(
+                    "SELECT indexdef FROM pg_indexes WHERE tablename = ? AND schemaname = current_schema()"
+                            + " AND indexdef NOT LIKE 'CREATE UNIQUE%'",
+                    String.class, TABLE);
+
+            jdbcTemplate.execute("CREATE TABLE " + target
+                    + " (LIKE " + TABLE + " INCLUDING DEFAULTS INCLUDING CONSTRAINTS)"
+                    + " PARTITION BY HASH (user_id)");
+            // Unique keys on a partitioned table must contain the partition key
+            jdbcTemplate.execute("ALTER TABLE " + target
+                    + " ADD CONSTRAINT " + target + "_pkey PRIMARY KEY (user_id, id)");
+            jdbcTemplate.execute("ALTER TABLE " + target
+                    + " ADD CONSTRAINT " + target + "_user_card_key UNIQUE (user_id, card_id)");
+
+            for (int i = 0; i < partitionCount; i++) {
+                jdbcTemplate.execute("CREATE TABLE " + target + "_p" + i
+                        + " PARTITION OF " + target
+                        + " FOR VALUES WITH (MODULUS " + partitionCount + ", REMAINDER " + i + ")");
+            }
+
+            jdbcTemplate.execute("INSERT INTO " + target + " SELECT * FROM " + TABLE);
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " RENAME TO " + TABLE + "_retired");
+            jdbcTemplate.execute("ALTER TABLE " + target + " RENAME TO " + TABLE);
+            jdbcTemplate.execute("DROP TABLE " + TABLE + "_retired");
+            indexDefinitions.forEach(jdbcTemplate::execute);
+            return true;
+        });
+        return Boolean.TRUE.equals(rebalanced);
+    }
+
+    public int currentPartitionCount() {
+        Boolean partitioned = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table pt"
+                        + " JOIN pg_class c ON c.oid = pt.partrelid"
+                        + " WHERE c.relname = ? AND pg_table_is_visible(c.oid))",
+                Boolean.class, TABLE);
+        if (!Boolean.TRUE.equals(partitioned)) {
+            return 0;
+        }
+
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM pg_inherits i"
+                        + " JOIN pg_class p ON p.oid = i.inhparent"
+                        + " WHERE p.relname = ? AND pg_table_is_visible(p.oid)",
+                Integer.class, TABLE);
+        return count != null ? count : 0;
+    }
+}
@@ -0,0 +1,120 @@
+package com.cardify.config;
+
+import com.cardify.security.AdaptiveConcurrencyLimiter;
+import com.cardify.service.ProgressArchiveService;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically moves progress of decks untouched for progress.archive.after-months
+ * into the compressed archive table. Works in small chunks, one deck per short
+ * transaction, and backs off whenever the API is busier than
+ * progress.archive.max-utilization of its adaptive concurrency limit, so it only
+ * uses the quiet hours.
+ */
+@Component
+public class ColdProgressArchiver {
+
+    @Value("${progress.archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${progress.archive.after-months:6}")
+    private int afterMonths;
+
+    @Value("${progress.archive.interval-minutes:10}")
+    private long intervalMinutes;
+
+    @Value("${progress.archive.chunk-size:50}")
+    private int chunkSize;
+
+    @Value("${progress.archive.pause-ms:200}")
+    private long pauseMs;
+
+    @Value("${progress.archive.max-utilization:0.3}")
+    private double maxUtilization;
+
+    private final ProgressArchiveService progressArchiveService;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "progress-archiver");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ColdProgressArchiver(ProgressArchiveService progressArchiveService,
+                                AdaptiveConcurrencyLimiter concurrencyLimiter) {
+        this.progressArchiveService = progressArchiveService;
+        this.concurrencyLimiter = concurrencyLimiter;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        executor.scheduleWithFixedDelay(this::runQuietly, intervalMinutes, intervalMinutes, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    private void runQuietly() {
+        try {
+            // The executor's only thread, so it can stay on the background pool for good
+            WorkloadRoutingDataSource.enter(Workload.Pool.BACKGROUND);
+            run();
+        } catch (RuntimeException e) {
+            System.err.println("Progress archiving failed: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() throws InterruptedException {
+        LocalDateTime cutoff = LocalDateTime.now().minusMonths(afterMonths);
+        int decks = 0;
+        long rows = 0;
+
+        // Keep taking chunks until there is nothing left or traffic picks up
+        while (!busy()) {
+            List<UUID> candidates = progressArchiveService.findCandidates(cutoff, chunkSize);
+            int archivedInChunk = 0;
+            for (UUID deckId : candidates) {
+                if (busy()) {
+                    break;
+                }
+                int archived = progressArchiveService.archive(deckId, cutoff);
+                if (archived > 0) {
+                    archivedInChunk++;
+                    rows += archived;
+                }
+                Thread.sleep(pauseMs);
+            }
+            decks += archivedInChunk;
+            // Candidates that were all skipped (reviewed meanwhile, raced by another node) would be returned again
+            if (candidates.size() < chunkSize || archivedInChunk == 0) {
+                break;
+            }
+        }
+
+        if (decks > 0) {
+            System.out.println("Archived progress of " + decks + " cold decks (" + rows + " rows)");
+        }
+    }
+
+    private boolean busy() {
+        return concurrencyLimiter.getInflight() > concurrencyLimiter.getLimit() * maxUtilization;
+    }
+}
@@ -2,7 +2,9 @@ package com.cardify.config;
 
 import com.cardify.entity.*;
 import com.cardify.repository.*;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
@@ -12,8 +14,13 @@ import java.util.List;
 import java.util.UUID;
 
 @Component
+@ConditionalOnProperty(name = "seeder.enabled", havingValue = "true", matchIfMissing = true)
 public class DataSeeder implements CommandLineRunner {
 
+    // Deferred seeding runs off the startup path, so the context is ready without waiting for it
+    @Value("${seeder.deferred:false}")
+    private boolean deferred;
+
     private final UserRepository userRepository;
     private final DeckRepository deckRepository;
     private final CardRepository cardRepository;
@@ -35,6 +42,16 @@ public class DataSeeder implements CommandLineRunner {
 
     @Override
     public void run(String... args) {
+        if (deferred) {
+            Thread worker = new Thread(() -> WorkloadRoutingDataSource.run(Workload.Pool.BACKGROUND, this::seed), "data-seeder");
+            worker.setDaemon(true);
+            worker.start();
+        } else {
+            WorkloadRoutingDataSource.run(Workload.Pool.BACKGROUND, this::seed);
+        }
+    }
+
+    private void seed() {
         // Only seed if no users exist
         if (userRepository.count() > 0) {
             return;
@@ -69,19 +86,17 @@ public class DataSeeder implements CommandLineRunner {
             card.setBackText(data[1]);
             card = cardRepository.save(card);
 
-            // Create progress for some cards
-            CardProgress progress = new CardProgress();
-            progress.setUserId(user.getId());
-            progress.setCardId(card.getId());
+            // Mark some cards as mastered; the rest stay NEW without a progress row
             if (cardData.indexOf(data) < 2) {
+                CardProgress progress = new CardProgress();
+                progress.setUserId(user.getId());
+                progress.setCardId(card.getId());
                 progress.setStatus(CardProgress.ProgressStatus.MASTERED);
                 progress.setTimesMastered(1);
-            } else {
-                progress.setStatus(CardProgress.ProgressStatus.NEW);
+                progress.setTimesReviewed(0);
+                progress.setTimesStruggled(0);
+                cardProgressRepository.save(progress);
             }
-            progress.setTimesReviewed(0);
-            progress.setTimesStruggled(0);
-            cardProgressRepository.save(progress);
         }
 
         System.out.println("Sample data seeded successfully!");
@@ -0,0 +1,182 @@
+package com.cardify.config;
+
+import com.cardify.dto.CardDto;
+import com.cardify.dto.CardRequest;
+import com.cardify.dto.CreateDeckRequest;
+import com.cardify.dto.DeckDto;
+import com.cardify.dto.ReviewRequest;
+import com.cardify.entity.CardProgress;
+import com.cardify.entity.User;
+import com.cardify.repository.UserRepository;
+import com.cardify.security.JwtTokenProvider;
+import com.cardify.service.CardService;
+import com.cardify.service.DashboardService;
+import com.cardify.service.DeckService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Replays a synthetic mix of the hot request paths before the instance takes traffic,
+ * so the JIT has compiled them by the time real users arrive. Everything runs as a
+ * throwaway sandbox user inside one transaction that is always rolled back.
+ * Readiness only flips to ACCEPTING_TRAFFIC after application runners return, so the
+ * probe waits for this to finish or for the time budget to run out.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class JitWarmup implements ApplicationRunner, HealthIndicator {
+
+    @Value("${warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${warmup.iterations:2000}")
+    private int iterations;
+
+    @Value("${warmup.budget-ms:20000}")
+    private long budgetMs;
+
+    @Value("${warmup.cards-per-deck:20}")
+    private int cardsPerDeck;
+
+    private final UserRepository userRepository;
+    private final DeckService deckService;
+    private final CardService cardService;
+    private final DashboardService dashboardService;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<String, AtomicLong> calls = new ConcurrentHashMap<>();
+    private volatile String state = "pending";
+    private volatile int completedIterations;
+    private volatile long elapsedMs;
+    private volatile String failure;
+
+    public JitWarmup(UserRepository userRepository, DeckService deckService, CardService cardService,
+                     DashboardService dashboardService, JwtTokenProvider jwtTokenProvider, ObjectMapper objectMapper,
+                     TransactionTemplate transactionTemplate) {
+        this.userRepository = userRepository;
+        this.deckService = deckService;
+        this.cardService = cardService;
+        this.dashboardService = dashboardService;
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            state = "disabled";
+            return;
+        }
+
+        state = "running";
+        long start = System.nanoTime();
+        long deadline = start + budgetMs * 1_000_000L;
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                status.setRollbackOnly();
+                replay(deadline);
+            });
+            state = completedIterations >= iterations ? "complete" : "budget-expired";
+        } catch (RuntimeException e) {
+            // A failed warm-up must not keep the instance out of rotation
+            state = "failed";
+            failure = e.getClass().getSimpleName() + ": " + e.getMessage();
+        } finally {
+            elapsedMs = (System.nanoTime() - start) / 1_000_000L;
+        }
+        System.out.println("JIT warm-up " + state + " after " + completedIterations + " iterations in " + elapsedMs + " ms");
+    }
+
+    private void replay(long deadline) {
+        User user = new User();
+        user.setEmail("warmup-" + UUID.randomUUID() + "@cardify.invalid");
+        user.setPasswordHash("!");
+        user = userRepository.save(user);
+        UUID userId = user.getId();
+
+        CreateDeckRequest request = new CreateDeckRequest();
+        request.setTitle("Warm-up deck");
+        request.setSubject("Warm-up");
+        List<CardRequest> cards = new ArrayList<>();
+        for (int i = 0; i < cardsPerDeck; i++) {
+            CardRequest card = new CardRequest();
+            card.setFrontText("Question " + i);
+            card.setBackText("Answer " + i);
+            cards.add(card);
+        }
+        request.setCards(cards);
+        DeckDto deck = deckService.createDeck(userId, request);
+
+        CardProgress.ProgressStatus[] actions = CardProgress.ProgressStatus.values();
+        ReviewRequest review = new ReviewRequest();
+        for (int i = 0; i < iterations && System.nanoTime() < deadline; i++) {
+            String token = jwtTokenProvider.generateToken(user.getEmail());
+            count("token", jwtTokenProvider.validateToken(token) && user.getEmail().equals(jwtTokenProvider.getEmailFromToken(token)));
+
+            count("deckList", serialize(deckService.getUserDecks(userId)));
+            count("deck", serialize(deckService.getDeck(deck.getId(), userId)));
+
+            List<CardDto> studyCards = cardService.getStudyCards(deck.getId(), userId);
+            count("study", serialize(studyCards));
+
+            review.setAction(actions[i % actions.length]);
+            count("review", serialize(cardService.reviewCard(studyCards.get(i % studyCards.size()).getId(), userId, review)));
+
+            count("quickReview", serialize(cardService.getQuickReviewCards(userId, 10)));
+            count("dashboard", serialize(dashboardService.getDashboardStats(userId)));
+
+            completedIterations = i + 1;
+        }
+    }
+
+    private boolean serialize(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value).length > 0;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private void count(String operation, boolean ok) {
+        if (ok) {
+            calls.computeIfAbsent(operation, key -> new AtomicLong()).incrementAndGet();
+        }
+    }
+
+    @Override
+    public Health health() {
+        Map<String, Object> coverage = new LinkedHashMap<>();
+        calls.forEach((operation, count) -> coverage.put(operation, count.get()));
+
+        Health.Builder builder = "failed".equals(state) ? Health.unknown() : Health.up();
+        builder.withDetail("state", state)
+                .withDetail("iterations", completedIterations)
+                .withDetail("targetIterations", iterations)
+                .withDetail("coverage", Math.min(1.0, (double) completedIterations / Math.max(1, iterations)))
+                .withDetail("elapsedMs", elapsedMs)
+                .withDetail("calls", coverage);
+        if (failure != null) {
+            builder.withDetail("failure", failure);
+        }
+        return builder.build();
+    }
+}
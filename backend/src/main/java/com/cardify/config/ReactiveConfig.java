@@ -0,0 +1,22 @@
+package com.cardify.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+@Configuration
+public class ReactiveConfig {
+
+    /**
+     * Runs the blocking repository calls behind the reactive study endpoints. More
+     * threads than pooled connections would only queue inside Hikari, so the two are
+     * sized together; excess work waits in the bounded queue and is then rejected.
+     */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler studyScheduler(@Value("${study.reactive.threads:10}") int threads,
+                                    @Value("${study.reactive.queue-capacity:1000}") int queueCapacity) {
+        return Schedulers.newBoundedElastic(threads, queueCapacity, "study-rx");
+    }
+}
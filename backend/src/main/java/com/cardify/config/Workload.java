@@ -0,0 +1,29 @@
+package com.cardify.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Selects the connection pool for a service method, or for every method of a class.
+ * WorkloadAspect applies it before any transaction opens, so the transaction's
+ * connection comes from that pool. Work that is not annotated is INTERACTIVE.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Workload {
+
+    Pool value();
+
+    enum Pool {
+        // Request paths users wait on: study reads, review writes, deck views
+        INTERACTIVE,
+        // Large one-off requests: imports, clones, deletes, analytics aggregates
+        BULK,
+        // Jobs nobody waits on: archiving, partitioning, seeding, invalidation pruning
+        BACKGROUND
+    }
+}
@@ -0,0 +1,93 @@
+package com.cardify.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * One Hikari pool per workload class behind a routing DataSource, so a bulk import
+ * or a large delete can only exhaust its own pool and study traffic keeps its
+ * connections. Each pool has its own size, connection wait and (on PostgreSQL)
+ * statement timeout under datasource.pools.{interactive,bulk,background}.
+ *
+ * Pool metrics are published as hikaricp.connections.* tagged pool=cardify-{workload};
+ * hikaricp.connections.acquire is the time spent waiting for a connection.
+ */
+@Configuration
+public class WorkloadDataSourceConfig {
+
+    private final DataSourceProperties properties;
+    private final Environment environment;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public WorkloadDataSourceConfig(DataSourceProperties properties, Environment environment,
+                                    ObjectProvider<MeterRegistry> meterRegistry) {
+        this.properties = properties;
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource interactiveDataSource() {
+        return pool(Workload.Pool.INTERACTIVE, 10, 5, 2000, 5000);
+    }
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource bulkDataSource() {
+        return pool(Workload.Pool.BULK, 3, 0, 30000, 120000);
+    }
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource backgroundDataSource() {
+        return pool(Workload.Pool.BACKGROUND, 2, 0, 60000, 300000);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource() {
+        Map<Object, Object> pools = new HashMap<>();
+        pools.put(Workload.Pool.INTERACTIVE, interactiveDataSource());
+        pools.put(Workload.Pool.BULK, bulkDataSource());
+        pools.put(Workload.Pool.BACKGROUND, backgroundDataSource());
+
+        WorkloadRoutingDataSource dataSource = new WorkloadRoutingDataSource();
+        dataSource.setTargetDataSources(pools);
+        dataSource.setDefaultTargetDataSource(interactiveDataSource());
+        return dataSource;
+    }
+
+    private HikariDataSource pool(Workload.Pool workload, int maximumPoolSize, int minimumIdle,
+                                  long connectionTimeoutMs, long statementTimeoutMs) {
+        String name = workload.name().toLowerCase();
+        String prefix = "datasource.pools." + name + ".";
+
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("cardify-" + name);
+        dataSource.setMaximumPoolSize(environment.getProperty(prefix + "maximum-pool-size", Integer.class, maximumPoolSize));
+        dataSource.setMinimumIdle(environment.getProperty(prefix + "minimum-idle", Integer.class, minimumIdle));
+        dataSource.setConnectionTimeout(environment.getProperty(prefix + "connection-timeout-ms", Long.class, connectionTimeoutMs));
+
+        // Session default for every statement on the pool; a transaction may still raise it with SET LOCAL
+        long statementTimeout = environment.getProperty(prefix + "statement-timeout-ms", Long.class, statementTimeoutMs);
+        if (statementTimeout > 0 && properties.determineUrl().startsWith("jdbc:postgresql:")) {
+            dataSource.setConnectionInitSql("SET statement_timeout = " + statementTimeout);
+        }
+
+        // Instrumented before the pool opens its first connection
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+        }
+        return dataSource;
+    }
+}
@@ -0,0 +1,58 @@
+package com.cardify.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import java.util.function.Supplier;
+
+/**
+ * Hands out connections from the pool of the workload running on the current
+ * thread. The workload is a thread-local, so work handed to another thread starts
+ * out INTERACTIVE unless it selects its own pool.
+ */
+public class WorkloadRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final ThreadLocal<Workload.Pool> CURRENT = new ThreadLocal<>();
+
+    public static Workload.Pool current() {
+        Workload.Pool pool = CURRENT.get();
+        return pool != null ? pool : Workload.Pool.INTERACTIVE;
+    }
+
+    public static <T> T call(Workload.Pool pool, Supplier<T> work) {
+        Workload.Pool previous = enter(pool);
+        try {
+            return work.get();
+        } finally {
+            exit(previous);
+        }
+    }
+
+    public static void run(Workload.Pool pool, Runnable work) {
+        Workload.Pool previous = enter(pool);
+        try {
+            work.run();
+        } finally {
+            exit(previous);
+        }
+    }
+
+    // Returns the workload to restore with exit()
+    static Workload.Pool enter(Workload.Pool pool) {
+        Workload.Pool previous = CURRENT.get();
+        CURRENT.set(pool);
+        return previous;
+    }
+
+    static void exit(Workload.Pool previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return current();
+    }
+}
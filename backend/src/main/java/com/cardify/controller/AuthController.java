@@ -3,7 +3,10 @@ package com.cardify.controller;
 import com.cardify.dto.AuthRequest;
 import com.cardify.dto.AuthResponse;
 import com.cardify.service.AuthService;
+import com.cardify.service.ServiceOverloadedException;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -23,6 +26,10 @@ public class AuthController {
         try {
             AuthResponse response = authService.signup(request);
             return ResponseEntity.ok(response);
+        } catch (ServiceOverloadedException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .build();
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().build();
         }
@@ -33,6 +40,10 @@ public class AuthController {
         try {
             AuthResponse response = authService.login(request);
             return ResponseEntity.ok(response);
+        } catch (ServiceOverloadedException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .build();
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().build();
         }
@@ -1,6 +1,7 @@
 package com.cardify.controller;
 
 import com.cardify.dto.DashboardStatsDto;
+import com.cardify.dto.ProgressAnalyticsDto;
 import com.cardify.entity.User;
 import com.cardify.repository.UserRepository;
 import com.cardify.service.DashboardService;
@@ -30,6 +31,12 @@ public class DashboardController {
         return ResponseEntity.ok(stats);
     }
 
+    @GetMapping("/analytics")
+    public ResponseEntity<ProgressAnalyticsDto> getAnalytics(Authentication authentication) {
+        UUID userId = getUserIdFromAuthentication(authentication);
+        return ResponseEntity.ok(dashboardService.getAnalytics(userId));
+    }
+
     private UUID getUserIdFromAuthentication(Authentication authentication) {
         String email = authentication.getName();
         User user = userRepository.findByEmail(email)
@@ -1,10 +1,14 @@
 package com.cardify.controller;
 
+import com.cardify.dto.CardRequest;
+import com.cardify.dto.CardUpdateRequest;
 import com.cardify.dto.CreateDeckRequest;
 import com.cardify.dto.DeckDto;
+import com.cardify.dto.UpdateDeckRequest;
 import com.cardify.entity.User;
 import com.cardify.repository.UserRepository;
 import com.cardify.service.DeckService;
+import com.cardify.service.ImageService;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -12,6 +16,8 @@ import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/api/decks")
@@ -19,10 +25,12 @@ import java.util.UUID;
 public class DeckController {
 
     private final DeckService deckService;
+    private final ImageService imageService;
     private final UserRepository userRepository;
 
-    public DeckController(DeckService deckService, UserRepository userRepository) {
+    public DeckController(DeckService deckService, ImageService imageService, UserRepository userRepository) {
         this.deckService = deckService;
+        this.imageService = imageService;
         this.userRepository = userRepository;
     }
 
@@ -36,6 +44,8 @@ public class DeckController {
     @PostMapping
     public ResponseEntity<DeckDto> createDeck(@Valid @RequestBody CreateDeckRequest request, Authentication authentication) {
         UUID userId = getUserIdFromAuthentication(authentication);
+        // Fetch card images before the deck transaction opens
+        imageService.localizeImages(request.getCards());
         DeckDto deck = deckService.createDeck(userId, request);
         return ResponseEntity.ok(deck);
     }
@@ -51,6 +61,52 @@ public class DeckController {
         }
     }
 
+    @PatchMapping("/{deckId}")
+    public ResponseEntity<DeckDto> updateDeck(@PathVariable UUID deckId, @Valid @RequestBody UpdateDeckRequest request,
+                                              Authentication authentication) {
+        UUID userId = getUserIdFromAuthentication(authentication);
+        // Fetch card images before the deck transaction opens, added and updated cards under one deadline
+        List<CardRequest> addedCards = request.getAddedCards() != null ? request.getAddedCards() : List.of();
+        List<CardUpdateRequest> updatedCards = request.getUpdatedCards() != null ? request.getUpdatedCards() : List.of();
+        List<String> imageUrls = imageService.localizeImageUrls(Stream.concat(
+                        addedCards.stream().map(CardRequest::getImageUrl),
+                        updatedCards.stream().map(CardUpdateRequest::getImageUrl))
+                .collect(Collectors.toList()));
+        for (int i = 0; i < addedCards.size(); i++) {
+            addedCards.get(i).setImageUrl(imageUrls.get(i));
+        }
+        for (int i = 0; i < updatedCards.size(); i++) {
+            updatedCards.get(i).setImageUrl(imageUrls.get(addedCards.size() + i));
+        }
+        try {
+            DeckDto deck = deckService.updateDeck(deckId, userId, request);
+            return ResponseEntity.ok(deck);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @PostMapping("/{deckId}/clone")
+    public ResponseEntity<DeckDto> cloneDeck(@PathVariable UUID deckId, Authentication authentication) {
+        UUID userId = getUserIdFromAuthentication(authentication);
+        try {
+            DeckDto deck = deckService.cloneDeck(deckId, userId);
+            return ResponseEntity.ok(deck);
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @PostMapping("/{deckId}/share")
+    public ResponseEntity<Void> shareDeck(@PathVariable UUID deckId, Authentication authentication) {
+        return setShared(deckId, true, authentication);
+    }
+
+    @DeleteMapping("/{deckId}/share")
+    public ResponseEntity<Void> unshareDeck(@PathVariable UUID deckId, Authentication authentication) {
+        return setShared(deckId, false, authentication);
+    }
+
     @DeleteMapping("/{deckId}")
     public ResponseEntity<Void> deleteDeck(@PathVariable UUID deckId, Authentication authentication) {
         UUID userId = getUserIdFromAuthentication(authentication);
@@ -62,6 +118,16 @@ public class DeckController {
         }
     }
 
+    private ResponseEntity<Void> setShared(UUID deckId, boolean shared, Authentication authentication) {
+        UUID userId = getUserIdFromAuthentication(authentication);
+        try {
+            deckService.setShared(deckId, userId, shared);
+            return ResponseEntity.noContent().build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
     private UUID getUserIdFromAuthentication(Authentication authentication) {
         String email = authentication.getName();
         User user = userRepository.findByEmail(email)
@@ -2,14 +2,27 @@ package com.cardify.controller;
 
 import com.cardify.dto.CardRequest;
 import com.cardify.dto.GenerateCardsRequest;
+import com.cardify.entity.User;
+import com.cardify.repository.UserRepository;
 import com.cardify.service.CardGenerationService;
+import com.cardify.service.CardStreamService;
+import com.cardify.service.GenerationRateLimiter;
+import com.cardify.service.RateLimitExceededException;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/generate")
@@ -17,17 +30,65 @@ import java.util.Map;
 public class GenerateController {
 
     private final CardGenerationService cardGenerationService;
+    private final CardStreamService cardStreamService;
+    private final GenerationRateLimiter generationRateLimiter;
+    private final UserRepository userRepository;
 
-    public GenerateController(CardGenerationService cardGenerationService) {
+    public GenerateController(CardGenerationService cardGenerationService,
+                              CardStreamService cardStreamService,
+                              GenerationRateLimiter generationRateLimiter,
+                              UserRepository userRepository) {
         this.cardGenerationService = cardGenerationService;
+        this.cardStreamService = cardStreamService;
+        this.generationRateLimiter = generationRateLimiter;
+        this.userRepository = userRepository;
     }
 
+    // Async: the request thread is released while the provider call is in flight
     @PostMapping
-    public ResponseEntity<Map<String, List<CardRequest>>> generateCards(@Valid @RequestBody GenerateCardsRequest request) {
-        List<CardRequest> cards = cardGenerationService.generateCards(request.getTopic(), request.getCount());
-        Map<String, List<CardRequest>> response = new HashMap<>();
-        response.put("cards", cards);
-        return ResponseEntity.ok(response);
+    public CompletableFuture<ResponseEntity<Map<String, List<CardRequest>>>> generateCards(
+            @Valid @RequestBody GenerateCardsRequest request, Authentication authentication) {
+        UUID userId = getUserIdFromAuthentication(authentication);
+        try {
+            generationRateLimiter.acquire(userId);
+        } catch (RateLimitExceededException e) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .build());
+        }
+
+        return cardGenerationService.generateCards(request.getTopic(), request.getCount()).thenApply(cards -> {
+            Map<String, List<CardRequest>> response = new HashMap<>();
+            response.put("cards", cards);
+            return ResponseEntity.ok(response);
+        });
     }
-}
 
+    @PostMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamCards(@Valid @RequestBody GenerateCardsRequest request,
+                                                  Authentication authentication) {
+        UUID userId = getUserIdFromAuthentication(authentication);
+        try {
+            generationRateLimiter.acquire(userId);
+        } catch (RateLimitExceededException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .build();
+        }
+
+        try {
+            return ResponseEntity.ok(cardStreamService.stream(request.getTopic(), request.getCount()));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .build();
+        }
+    }
+
+    private UUID getUserIdFromAuthentication(Authentication authentication) {
+        String email = authentication.getName();
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        return user.getId();
+    }
+}
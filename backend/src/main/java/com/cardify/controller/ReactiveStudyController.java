@@ -0,0 +1,83 @@
+package com.cardify.controller;
+
+import com.cardify.dto.CardDto;
+import com.cardify.entity.User;
+import com.cardify.repository.UserRepository;
+import com.cardify.service.CardService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Non-blocking variants of the study read paths. Handlers return a Mono, which
+ * Spring MVC serves as an async request: the Tomcat thread is released at once and
+ * the CardService call runs on the bounded study scheduler, so the number of
+ * concurrent study requests is capped by the connection pool instead of request threads.
+ */
+@RestController
+@RequestMapping("/api/study/rx")
+@CrossOrigin
+public class ReactiveStudyController {
+
+    private final CardService cardService;
+    private final UserRepository userRepository;
+    private final Scheduler studyScheduler;
+    private final Duration timeout;
+
+    public ReactiveStudyController(CardService cardService, UserRepository userRepository,
+                                   @Qualifier("studyScheduler") Scheduler studyScheduler,
+                                   @Value("${study.reactive.timeout-ms:30000}") long timeoutMs) {
+        this.cardService = cardService;
+        this.userRepository = userRepository;
+        this.studyScheduler = studyScheduler;
+        this.timeout = Duration.ofMillis(timeoutMs);
+    }
+
+    @GetMapping("/decks/{deckId}")
+    public Mono<ResponseEntity<List<CardDto>>> getStudyCards(@PathVariable UUID deckId, Authentication authentication) {
+        return Mono.fromCallable(() -> cardService.getStudyCards(deckId, getUserIdFromAuthentication(authentication)))
+                .subscribeOn(studyScheduler)
+                .timeout(timeout)
+                .map(ResponseEntity::ok)
+                .onErrorResume(e -> Mono.just(errorResponse(e, HttpStatus.NOT_FOUND)));
+    }
+
+    @GetMapping("/quick")
+    public Mono<ResponseEntity<List<CardDto>>> getQuickReviewCards(@RequestParam(defaultValue = "10") int limit,
+                                                                   Authentication authentication) {
+        return Mono.fromCallable(() -> cardService.getQuickReviewCards(getUserIdFromAuthentication(authentication), limit))
+                .subscribeOn(studyScheduler)
+                .timeout(timeout)
+                .map(ResponseEntity::ok)
+                .onErrorResume(e -> Mono.just(errorResponse(e, HttpStatus.BAD_REQUEST)));
+    }
+
+    // A full scheduler queue or a timeout means overload, not a bad request
+    private static <T> ResponseEntity<T> errorResponse(Throwable e, HttpStatus fallback) {
+        if (e instanceof RejectedExecutionException || e instanceof TimeoutException) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .build();
+        }
+        return ResponseEntity.status(fallback).build();
+    }
+
+    private UUID getUserIdFromAuthentication(Authentication authentication) {
+        String email = authentication.getName();
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        return user.getId();
+    }
+}
@@ -0,0 +1,38 @@
+package com.cardify.controller;
+
+import com.cardify.entity.User;
+import com.cardify.repository.UserRepository;
+import com.cardify.service.UserStreamHub;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/stream")
+@CrossOrigin
+public class StreamController {
+
+    private final UserStreamHub userStreamHub;
+    private final UserRepository userRepository;
+
+    public StreamController(UserStreamHub userStreamHub, UserRepository userRepository) {
+        this.userStreamHub = userStreamHub;
+        this.userRepository = userRepository;
+    }
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(Authentication authentication) {
+        UUID userId = getUserIdFromAuthentication(authentication);
+        return userStreamHub.subscribe(userId);
+    }
+
+    private UUID getUserIdFromAuthentication(Authentication authentication) {
+        String email = authentication.getName();
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        return user.getId();
+    }
+}
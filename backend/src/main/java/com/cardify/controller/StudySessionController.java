@@ -0,0 +1,80 @@
+package com.cardify.controller;
+
+import com.cardify.dto.StartStudySessionRequest;
+import com.cardify.dto.StudyAnswerRequest;
+import com.cardify.dto.StudySessionDto;
+import com.cardify.entity.User;
+import com.cardify.repository.UserRepository;
+import com.cardify.service.StudySessionService;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/study/sessions")
+@CrossOrigin
+public class StudySessionController {
+
+    private final StudySessionService studySessionService;
+    private final UserRepository userRepository;
+
+    public StudySessionController(StudySessionService studySessionService, UserRepository userRepository) {
+        this.studySessionService = studySessionService;
+        this.userRepository = userRepository;
+    }
+
+    @PostMapping
+    public ResponseEntity<StudySessionDto> startSession(@Valid @RequestBody StartStudySessionRequest request,
+                                                        Authentication authentication) {
+        UUID userId = getUserIdFromAuthentication(authentication);
+        try {
+            return ResponseEntity.ok(studySessionService.start(request.getDeckId(), userId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @GetMapping("/{sessionId}/next")
+    public ResponseEntity<StudySessionDto> nextCards(@PathVariable UUID sessionId,
+                                                     @RequestParam(required = false) Integer size,
+                                                     Authentication authentication) {
+        UUID userId = getUserIdFromAuthentication(authentication);
+        try {
+            return ResponseEntity.ok(studySessionService.next(sessionId, userId, size));
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @PostMapping("/{sessionId}/answers")
+    public ResponseEntity<StudySessionDto> answer(@PathVariable UUID sessionId,
+                                                  @Valid @RequestBody StudyAnswerRequest request,
+                                                  Authentication authentication) {
+        UUID userId = getUserIdFromAuthentication(authentication);
+        try {
+            return ResponseEntity.ok(studySessionService.answer(sessionId, userId, request));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @DeleteMapping("/{sessionId}")
+    public ResponseEntity<StudySessionDto> endSession(@PathVariable UUID sessionId, Authentication authentication) {
+        UUID userId = getUserIdFromAuthentication(authentication);
+        try {
+            return ResponseEntity.ok(studySessionService.end(sessionId, userId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    private UUID getUserIdFromAuthentication(Authentication authentication) {
+        String email = authentication.getName();
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        return user.getId();
+    }
+}
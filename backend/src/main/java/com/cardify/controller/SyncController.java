@@ -0,0 +1,39 @@
+package com.cardify.controller;
+
+import com.cardify.dto.SyncResponseDto;
+import com.cardify.entity.User;
+import com.cardify.repository.UserRepository;
+import com.cardify.service.SyncService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/sync")
+@CrossOrigin
+public class SyncController {
+
+    private final SyncService syncService;
+    private final UserRepository userRepository;
+
+    public SyncController(SyncService syncService, UserRepository userRepository) {
+        this.syncService = syncService;
+        this.userRepository = userRepository;
+    }
+
+    @GetMapping
+    public ResponseEntity<SyncResponseDto> sync(@RequestParam(defaultValue = "0") long since, Authentication authentication) {
+        UUID userId = getUserIdFromAuthentication(authentication);
+        SyncResponseDto changes = syncService.getChangesSince(userId, since);
+        return ResponseEntity.ok(changes);
+    }
+
+    private UUID getUserIdFromAuthentication(Authentication authentication) {
+        String email = authentication.getName();
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        return user.getId();
+    }
+}
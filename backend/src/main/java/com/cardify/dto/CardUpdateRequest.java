@@ -0,0 +1,25 @@
+package com.cardify.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import lombok.Data;
+
+import java.util.UUID;
+
+/**
+ * Changes to one existing card. Fields left null keep their current value;
+ * an empty image URL removes the image.
+ */
+@Data
+public class CardUpdateRequest {
+    @NotNull(message = "Card id is required")
+    private UUID id;
+
+    @Pattern(regexp = "(?s).*\\S.*", message = "Front text must not be blank")
+    private String frontText;
+
+    @Pattern(regexp = "(?s).*\\S.*", message = "Back text must not be blank")
+    private String backText;
+
+    private String imageUrl;
+}
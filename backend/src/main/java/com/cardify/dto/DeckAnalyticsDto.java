@@ -0,0 +1,18 @@
+package com.cardify.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+public class DeckAnalyticsDto {
+    private UUID deckId;
+    private String title;
+    private Long totalCards;
+    private Long newCards;
+    private Long learningCards;
+    private Long masteredCards;
+    private Long strugglingCards;
+}
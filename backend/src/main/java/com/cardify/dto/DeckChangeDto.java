@@ -0,0 +1,16 @@
+package com.cardify.dto;
+
+import com.cardify.service.UserDataChangedEvent;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeckChangeDto {
+    private UserDataChangedEvent.Kind kind;
+    private UUID deckId;
+}
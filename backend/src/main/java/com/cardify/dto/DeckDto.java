@@ -20,6 +20,8 @@ public class DeckDto {
     private Long totalCards;
     private Long masteredCards;
     private Double masteredPercent;
+    private UUID sourceDeckId;
+    private Boolean shared;
     private List<CardDto> cards;
 }
 
@@ -0,0 +1,10 @@
+package com.cardify.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+@Data
+public class FetchImageRequest {
+    @NotBlank(message = "URL is required")
+    private String url;
+}
@@ -0,0 +1,14 @@
+package com.cardify.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class HistogramBucketDto {
+    private String label;
+    private Integer min;
+    // Inclusive upper bound; null for the open-ended last bucket
+    private Integer max;
+    private Long count;
+}
@@ -0,0 +1,16 @@
+package com.cardify.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImageDto {
+    private String id;
+    private String url;
+    private List<Integer> thumbnailSizes;
+}
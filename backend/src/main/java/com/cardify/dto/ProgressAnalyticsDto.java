@@ -0,0 +1,19 @@
+package com.cardify.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ProgressAnalyticsDto {
+    private Long totalCards;
+    private Long newCards;
+    private Long learningCards;
+    private Long masteredCards;
+    private Long strugglingCards;
+    private Long reviewedToday;
+    private List<HistogramBucketDto> reviewsPerCard;
+    private List<DeckAnalyticsDto> decks;
+}
@@ -0,0 +1,12 @@
+package com.cardify.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.util.UUID;
+
+@Data
+public class StartStudySessionRequest {
+    @NotNull(message = "Deck is required")
+    private UUID deckId;
+}
@@ -0,0 +1,20 @@
+package com.cardify.dto;
+
+import com.cardify.entity.CardProgress;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudyAnswerRequest {
+    @NotNull(message = "Card is required")
+    private UUID cardId;
+
+    @NotNull(message = "Action is required")
+    private CardProgress.ProgressStatus action;
+}
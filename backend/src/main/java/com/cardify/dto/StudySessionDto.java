@@ -0,0 +1,20 @@
+package com.cardify.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudySessionDto {
+    private UUID id;
+    private UUID deckId;
+    private Integer totalCards;
+    private Integer remainingCards;
+    private Integer answeredCards;
+    private List<CardDto> cards;
+}
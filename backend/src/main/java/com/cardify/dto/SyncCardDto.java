@@ -0,0 +1,20 @@
+package com.cardify.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncCardDto {
+    private UUID id;
+    private UUID deckId;
+    private String frontText;
+    private String backText;
+    private String imageUrl;
+    // Set when this card is a clone's edited copy of a source deck card
+    private UUID replacesCardId;
+}
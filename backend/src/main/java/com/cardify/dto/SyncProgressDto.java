@@ -0,0 +1,21 @@
+package com.cardify.dto;
+
+import com.cardify.entity.CardProgress;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncProgressDto {
+    private UUID cardId;
+    private CardProgress.ProgressStatus status;
+    private Integer timesReviewed;
+    private Integer timesMastered;
+    private Integer timesStruggled;
+    private LocalDateTime lastReviewedAt;
+}
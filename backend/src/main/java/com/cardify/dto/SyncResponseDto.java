@@ -0,0 +1,19 @@
+package com.cardify.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncResponseDto {
+    private Long cursor;
+    private boolean fullSync;
+    private List<DeckDto> decks;
+    private List<SyncCardDto> cards;
+    private List<SyncProgressDto> progress;
+    private List<TombstoneDto> deleted;
+}
@@ -0,0 +1,16 @@
+package com.cardify.dto;
+
+import com.cardify.entity.Tombstone;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TombstoneDto {
+    private Tombstone.EntityType entityType;
+    private UUID entityId;
+}
@@ -0,0 +1,29 @@
+package com.cardify.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Pattern;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A diff against a deck: metadata left null is unchanged, and only the listed
+ * cards are added, updated or removed.
+ */
+@Data
+public class UpdateDeckRequest {
+    @Pattern(regexp = "(?s).*\\S.*", message = "Title must not be blank")
+    private String title;
+
+    private String subject;
+
+    @Valid
+    private List<CardRequest> addedCards = new ArrayList<>();
+
+    @Valid
+    private List<CardUpdateRequest> updatedCards = new ArrayList<>();
+
+    private List<UUID> removedCardIds = new ArrayList<>();
+}
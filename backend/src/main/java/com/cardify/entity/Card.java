@@ -15,7 +15,7 @@ import java.util.UUID;
 @AllArgsConstructor
 public class Card {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private UUID id;
 
     @Column(nullable = false)
@@ -29,6 +29,14 @@ public class Card {
 
     private String imageUrl;
 
+    private Long changeSeq;
+
+    // Set on a clone's copy-on-write card: the source deck card it replaces
+    private UUID sourceCardId;
+
+    // Set on a clone's copy-on-write card that hides its source card from the clone
+    private Boolean removed;
+
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
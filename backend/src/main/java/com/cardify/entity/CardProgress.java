@@ -17,7 +17,7 @@ import java.util.UUID;
 @AllArgsConstructor
 public class CardProgress {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private UUID id;
 
     @Column(nullable = false)
@@ -41,6 +41,11 @@ public class CardProgress {
 
     private LocalDateTime lastReviewedAt;
 
+    private Long changeSeq;
+
+    @Version
+    private Long version;
+
     public enum ProgressStatus {
         NEW, LEARNING, MASTERED, STRUGGLING
     }
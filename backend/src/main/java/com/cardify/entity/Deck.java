@@ -15,7 +15,7 @@ import java.util.UUID;
 @AllArgsConstructor
 public class Deck {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private UUID id;
 
     @Column(nullable = false)
@@ -26,6 +26,17 @@ public class Deck {
 
     private String subject;
 
+    private Long changeSeq;
+
+    // Set on clones: the deck whose cards this deck references until they are edited
+    private UUID sourceDeckId;
+
+    // Shared decks can be cloned by any user
+    private Boolean shared;
+
+    // A deleted deck that clones still reference; hidden from its owner
+    private Boolean retired;
+
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -0,0 +1,55 @@
+package com.cardify.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "card_progress_archive")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProgressArchive {
+    @Id
+    @UuidV7
+    private UUID id;
+
+    @Column(nullable = false)
+    private UUID userId;
+
+    @Column(nullable = false, unique = true)
+    private UUID deckId;
+
+    // The owner's progress rows for the deck, gzip-compressed (see ProgressArchiveService)
+    @Column(nullable = false)
+    private byte[] payload;
+
+    @Column(nullable = false)
+    private Integer cardCount;
+
+    @Column(nullable = false)
+    private Integer newCount;
+
+    @Column(nullable = false)
+    private Integer learningCount;
+
+    @Column(nullable = false)
+    private Integer masteredCount;
+
+    @Column(nullable = false)
+    private Integer strugglingCount;
+
+    private LocalDateTime lastReviewedAt;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime archivedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        archivedAt = LocalDateTime.now();
+    }
+}
@@ -15,7 +15,7 @@ import java.util.UUID;
 @AllArgsConstructor
 public class User {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private UUID id;
 
     @Column(unique = true, nullable = false)
@@ -24,6 +24,11 @@ public class User {
     @Column(nullable = false)
     private String passwordHash;
 
+    // Last change sequence handed out for this user's decks, cards and progress. Only
+    // ChangeSequenceService moves it, under the row lock; entity saves never write it back
+    @Column(updatable = false)
+    private Long changeSeq = 0L;
+
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
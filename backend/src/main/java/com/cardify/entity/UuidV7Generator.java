@@ -0,0 +1,54 @@
+package com.cardify.entity;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+
+import java.lang.reflect.Member;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * RFC 9562 UUIDv7: 48-bit Unix millisecond timestamp, 12-bit counter in rand_a
+ * (method 1, so ids are strictly increasing within this JVM even inside one
+ * millisecond) and 62 random bits. The timestamp and counter share one AtomicLong
+ * updated by CAS; the UUID itself is the only allocation.
+ */
+public class UuidV7Generator implements IdentifierGenerator {
+
+    private static final int COUNTER_BITS = 12;
+    private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+
+    // Unix millis << 12 | counter of the last id handed out
+    private static final AtomicLong LAST = new AtomicLong();
+
+    public UuidV7Generator() {
+    }
+
+    public UuidV7Generator(UuidV7 config, Member member, CustomIdGeneratorCreationContext context) {
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        return next();
+    }
+
+    public static UUID next() {
+        long stamp;
+        while (true) {
+            long previous = LAST.get();
+            long now = System.currentTimeMillis() << COUNTER_BITS;
+            // A counter overflow carries into the timestamp, which keeps ids monotonic
+            stamp = now > previous ? now : previous + 1;
+            if (LAST.compareAndSet(previous, stamp)) {
+                break;
+            }
+        }
+
+        long millis = stamp >>> COUNTER_BITS;
+        long mostSigBits = (millis << 16) | 0x7000L | (stamp & COUNTER_MASK);
+        long leastSigBits = (ThreadLocalRandom.current().nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+}
@@ -2,9 +2,12 @@ package com.cardify.repository;
 
 import com.cardify.entity.CardProgress;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -13,6 +16,12 @@ import java.util.UUID;
 public interface CardProgressRepository extends JpaRepository<CardProgress, UUID> {
     Optional<CardProgress> findByUserIdAndCardId(UUID userId, UUID cardId);
     List<CardProgress> findByUserIdAndStatus(UUID userId, CardProgress.ProgressStatus status);
+    List<CardProgress> findByUserId(UUID userId);
+    List<CardProgress> findByUserIdAndCardIdIn(UUID userId, Collection<UUID> cardIds);
+
+    @Query("SELECT cp FROM CardProgress cp WHERE cp.userId = :userId AND cp.cardId IN (SELECT c.id FROM Card c WHERE c.deckId IN :deckIds)")
+    List<CardProgress> findByUserIdAndDeckIds(UUID userId, Collection<UUID> deckIds);
+    List<CardProgress> findByUserIdAndChangeSeqGreaterThan(UUID userId, Long changeSeq);
     
     @Query("SELECT cp FROM CardProgress cp WHERE cp.userId = :userId AND cp.status != 'MASTERED' ORDER BY cp.status DESC, cp.lastReviewedAt ASC")
     List<CardProgress> findNonMasteredCardsForUser(UUID userId);
@@ -25,5 +34,32 @@ public interface CardProgressRepository extends JpaRepository<CardProgress, UUID
     
     @Query("SELECT COUNT(cp) FROM CardProgress cp WHERE cp.userId = :userId AND DATE(cp.lastReviewedAt) = CURRENT_DATE")
     Long countCardsReviewedTodayByUserId(UUID userId);
+
+    // Re-points a user's progress at another card, e.g. a clone's copy of a source card
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE CardProgress cp SET cp.cardId = :toCardId, cp.changeSeq = :changeSeq, " +
+            "cp.version = COALESCE(cp.version, 0) + 1 WHERE cp.userId = :userId AND cp.cardId = :fromCardId")
+    int moveToCard(UUID userId, UUID fromCardId, UUID toCardId, Long changeSeq);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM CardProgress cp WHERE cp.userId = :userId AND cp.cardId IN :cardIds")
+    int deleteByUserIdAndCardIdIn(UUID userId, Collection<UUID> cardIds);
+
+    // PostgreSQL only: applies a review as a single atomic upsert so concurrent reviews never lose increments.
+    // A null status keeps the stored status (or NEW for a first review).
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "INSERT INTO card_progress (id, user_id, card_id, status, times_reviewed, times_mastered, times_struggled, last_reviewed_at, change_seq, version) " +
+            "VALUES (:id, :userId, :cardId, COALESCE(CAST(:status AS VARCHAR), 'NEW'), 1, :masteredIncrement, :struggledIncrement, :reviewedAt, :changeSeq, 0) " +
+            "ON CONFLICT (user_id, card_id) DO UPDATE SET " +
+            "status = COALESCE(CAST(:status AS VARCHAR), card_progress.status), " +
+            "times_reviewed = card_progress.times_reviewed + 1, " +
+            "times_mastered = card_progress.times_mastered + EXCLUDED.times_mastered, " +
+            "times_struggled = card_progress.times_struggled + EXCLUDED.times_struggled, " +
+            "last_reviewed_at = EXCLUDED.last_reviewed_at, " +
+            "change_seq = EXCLUDED.change_seq, " +
+            "version = COALESCE(card_progress.version, 0) + 1",
+            nativeQuery = true)
+    int upsertReview(UUID id, UUID userId, UUID cardId, String status, int masteredIncrement, int struggledIncrement,
+                     LocalDateTime reviewedAt, Long changeSeq);
 }
 
@@ -1,15 +1,47 @@
 package com.cardify.repository;
 
 import com.cardify.entity.Card;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface CardRepository extends JpaRepository<Card, UUID> {
     List<Card> findByDeckId(UUID deckId);
+    List<CardRef> findRefsByDeckIdOrderByCreatedAt(UUID deckId);
     void deleteByDeckId(UUID deckId);
+    long countByDeckId(UUID deckId);
+    long countByDeckIdAndSourceCardIdIsNull(UUID deckId);
+    long countByDeckIdAndRemovedTrue(UUID deckId);
+    List<Card> findByDeckIdAndSourceCardIdIn(UUID deckId, Collection<UUID> sourceCardIds);
+
+    // Cards in the user's decks (or their clones' source decks) that the user has never reviewed;
+    // decks whose progress is archived are cold and left out
+    @Query("SELECT c FROM Card c WHERE " +
+            "(c.deckId IN (SELECT d.id FROM Deck d WHERE d.userId = :userId AND COALESCE(d.retired, false) = false) " +
+            "OR c.deckId IN (SELECT d.sourceDeckId FROM Deck d WHERE d.userId = :userId)) " +
+            "AND COALESCE(c.removed, false) = false " +
+            "AND NOT EXISTS (SELECT cp.id FROM CardProgress cp WHERE cp.userId = :userId AND cp.cardId = c.id) " +
+            "AND NOT EXISTS (SELECT o.id FROM Card o WHERE o.sourceCardId = c.id " +
+            "AND o.deckId IN (SELECT d.id FROM Deck d WHERE d.userId = :userId)) " +
+            "AND NOT EXISTS (SELECT a.id FROM ProgressArchive a, Deck ad WHERE a.userId = :userId AND a.deckId = ad.id " +
+            "AND (ad.id = c.deckId OR ad.sourceDeckId = c.deckId)) " +
+            "ORDER BY c.createdAt")
+    List<Card> findUnreviewedCardsForUser(UUID userId, Pageable pageable);
+
+    @Query("SELECT c FROM Card c WHERE c.deckId IN (SELECT d.id FROM Deck d WHERE d.userId = :userId) AND c.changeSeq > :changeSeq")
+    List<Card> findByDeckOwnerAndChangeSeqGreaterThan(UUID userId, Long changeSeq);
+
+    // Id-only view of a deck's cards, for building study queues without loading card text
+    interface CardRef {
+        UUID getId();
+        UUID getSourceCardId();
+        Boolean getRemoved();
+    }
 }
 
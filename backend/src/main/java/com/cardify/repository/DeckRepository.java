@@ -1,14 +1,35 @@
 package com.cardify.repository;
 
 import com.cardify.entity.Deck;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface DeckRepository extends JpaRepository<Deck, UUID> {
+    @Query("SELECT d FROM Deck d WHERE d.userId = :userId AND COALESCE(d.retired, false) = false ORDER BY d.updatedAt DESC")
     List<Deck> findByUserIdOrderByUpdatedAtDesc(UUID userId);
+
+    @Query("SELECT d FROM Deck d WHERE d.userId = :userId AND COALESCE(d.retired, false) = false AND d.changeSeq > :changeSeq")
+    List<Deck> findByUserIdAndChangeSeqGreaterThan(UUID userId, Long changeSeq);
+
+    List<Deck> findBySourceDeckId(UUID sourceDeckId);
+    boolean existsBySourceDeckId(UUID sourceDeckId);
+    boolean existsByUserIdAndSourceDeckId(UUID userId, UUID sourceDeckId);
+
+    // Live decks untouched since the cutoff, not yet archived, whose owner has progress on them but none reviewed since
+    @Query("SELECT d.id FROM Deck d WHERE COALESCE(d.retired, false) = false AND d.updatedAt < :cutoff " +
+            "AND NOT EXISTS (SELECT a.id FROM ProgressArchive a WHERE a.deckId = d.id) " +
+            "AND EXISTS (SELECT cp.id FROM CardProgress cp, Card c WHERE cp.cardId = c.id AND cp.userId = d.userId " +
+            "AND (c.deckId = d.id OR c.deckId = d.sourceDeckId)) " +
+            "AND NOT EXISTS (SELECT cp.id FROM CardProgress cp, Card c WHERE cp.cardId = c.id AND cp.userId = d.userId " +
+            "AND (c.deckId = d.id OR c.deckId = d.sourceDeckId) AND cp.lastReviewedAt >= :cutoff) " +
+            "ORDER BY d.updatedAt")
+    List<UUID> findArchiveCandidates(LocalDateTime cutoff, Pageable pageable);
 }
 
@@ -0,0 +1,27 @@
+package com.cardify.repository;
+
+import com.cardify.entity.ProgressArchive;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface ProgressArchiveRepository extends JpaRepository<ProgressArchive, UUID> {
+    Optional<ProgressArchive> findByDeckId(UUID deckId);
+    List<ProgressArchive> findByUserId(UUID userId);
+
+    // The user's archives for any deck sharing cards with the given decks (the decks themselves and clones of them)
+    @Query("SELECT a.deckId FROM ProgressArchive a, Deck d WHERE a.deckId = d.id AND a.userId = :userId " +
+            "AND (d.id IN :deckIds OR d.sourceDeckId IN :deckIds)")
+    List<UUID> findDeckIdsByUserIdAndDeckIds(UUID userId, Collection<UUID> deckIds);
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM ProgressArchive a WHERE a.deckId = :deckId")
+    int deleteByDeckId(UUID deckId);
+}
@@ -0,0 +1,13 @@
+package com.cardify.repository;
+
+import com.cardify.entity.Tombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface TombstoneRepository extends JpaRepository<Tombstone, UUID> {
+    List<Tombstone> findByUserIdAndChangeSeqGreaterThan(UUID userId, Long changeSeq);
+}
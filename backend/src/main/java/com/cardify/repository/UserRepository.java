@@ -2,7 +2,10 @@ package com.cardify.repository;
 
 import com.cardify.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 import java.util.UUID;
@@ -11,5 +14,19 @@ import java.util.UUID;
 public interface UserRepository extends JpaRepository<User, UUID> {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
+
+    // Row-locks the user until commit, which serializes change sequence numbers per user
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE User u SET u.changeSeq = COALESCE(u.changeSeq, 0) + 1 WHERE u.id = :userId")
+    int incrementChangeSeq(UUID userId);
+
+    @Query("SELECT COALESCE(u.changeSeq, 0) FROM User u WHERE u.id = :userId")
+    Long findChangeSeqById(UUID userId);
+
+    // Touches only the hash: a full save would write back a change_seq read before the lock
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.passwordHash = :passwordHash WHERE u.id = :userId")
+    int updatePasswordHash(UUID userId, String passwordHash);
 }
 
@@ -0,0 +1,103 @@
+package com.cardify.security;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Sheds load with 503 once the adaptive concurrency limit is reached, instead of
+ * letting requests queue in Tomcat. Registered in the security chain ahead of
+ * JwtAuthenticationFilter so rejected requests cost no token parsing or user lookup.
+ */
+public class LoadSheddingFilter extends OncePerRequestFilter {
+
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    public LoadSheddingFilter(AdaptiveConcurrencyLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        AdaptiveConcurrencyLimiter.Priority priority = classify(request);
+        if (!limiter.tryAcquire(priority)) {
+            // Written here rather than via sendError: an ERROR dispatch to /error would be
+            // unauthenticated (JWT filter never ran) and turn the 503 into a 403
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean async = false;
+        try {
+            filterChain.doFilter(request, response);
+            async = request.isAsyncStarted();
+        } finally {
+            if (async) {
+                // Async handlers finish after this thread returns; hold the slot until the response completes
+                request.getAsyncContext().addListener(new ReleaseOnComplete(start));
+            } else {
+                limiter.release(System.nanoTime() - start);
+            }
+        }
+    }
+
+    // Long-lived streams and probes would skew the latency samples
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return path.startsWith("/api/stream") || path.equals("/api/generate/stream")
+                || path.startsWith("/actuator") || path.startsWith("/h2-console");
+    }
+
+    static AdaptiveConcurrencyLimiter.Priority classify(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        String method = request.getMethod();
+
+        if (("POST".equals(method) && path.startsWith("/api/cards/") && path.endsWith("/review"))
+                || ("GET".equals(method) && path.startsWith("/api/decks/") && path.endsWith("/study"))
+                || path.startsWith("/api/study/")) {
+            return AdaptiveConcurrencyLimiter.Priority.CRITICAL;
+        }
+        if (path.startsWith("/api/dashboard") || path.startsWith("/api/generate")) {
+            return AdaptiveConcurrencyLimiter.Priority.SHEDDABLE;
+        }
+        return AdaptiveConcurrencyLimiter.Priority.NORMAL;
+    }
+
+    private class ReleaseOnComplete implements AsyncListener {
+
+        private final long start;
+
+        private ReleaseOnComplete(long start) {
+            this.start = start;
+        }
+
+        // Also called after a timeout or error, so this is the single release point
+        @Override
+        public void onComplete(AsyncEvent event) {
+            limiter.release(System.nanoTime() - start);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
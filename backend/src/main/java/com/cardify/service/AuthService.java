@@ -6,24 +6,22 @@ import com.cardify.dto.UserDto;
 import com.cardify.entity.User;
 import com.cardify.repository.UserRepository;
 import com.cardify.security.JwtTokenProvider;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class AuthService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final JwtTokenProvider jwtTokenProvider;
 
-    public AuthService(UserRepository userRepository, PasswordEncoder passwordEncoder, JwtTokenProvider jwtTokenProvider) {
+    public AuthService(UserRepository userRepository, PasswordHashingService passwordHashingService, JwtTokenProvider jwtTokenProvider) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingService = passwordHashingService;
         this.jwtTokenProvider = jwtTokenProvider;
     }
 
-    @Transactional
+    // Not transactional: the hash is computed before any connection is taken from the pool
     public AuthResponse signup(AuthRequest request) {
         if (userRepository.existsByEmail(request.getEmail())) {
             throw new RuntimeException("Email already exists");
@@ -31,7 +29,7 @@ public class AuthService {
 
         User user = new User();
         user.setEmail(request.getEmail());
-        user.setPasswordHash(passwordEncoder.encode(request.getPassword()));
+        user.setPasswordHash(passwordHashingService.encode(request.getPassword()));
 
         user = userRepository.save(user);
 
@@ -45,14 +43,22 @@ public class AuthService {
         User user = userRepository.findByEmail(request.getEmail())
                 .orElseThrow(() -> new RuntimeException("Invalid email or password"));
 
-        if (!passwordEncoder.matches(request.getPassword(), user.getPasswordHash())) {
+        if (!passwordHashingService.matches(request.getPassword(), user.getPasswordHash())) {
             throw new RuntimeException("Invalid email or password");
         }
 
+        // Transparently move the stored hash to the configured work factor
+        if (passwordHashingService.needsRehash(user.getPasswordHash())) {
+            try {
+                userRepository.updatePasswordHash(user.getId(), passwordHashingService.encode(request.getPassword()));
+            } catch (ServiceOverloadedException e) {
+                // Try again on a later login
+            }
+        }
+
         String token = jwtTokenProvider.generateToken(user.getEmail());
         UserDto userDto = new UserDto(user.getId(), user.getEmail());
 
         return new AuthResponse(token, userDto);
     }
 }
-
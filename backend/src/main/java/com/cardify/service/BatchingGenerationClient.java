@@ -0,0 +1,353 @@
+package com.cardify.service;
+
+import com.cardify.dto.CardRequest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Client for the card generation provider. Requests arriving within a short window
+ * are sent upstream as one batch call and the results split back out; identical
+ * topic/count requests share one slot in the batch, and results are cached for a
+ * while. All calls go over one shared HTTP/2 client, so connections are reused.
+ * generate() does not block: the result completes on the HTTP client's threads, so
+ * a caller can hand the future straight to an async controller.
+ *
+ * Provider contract: POST {base-url}/v1/cards/batch with
+ * {"model": ..., "requests": [{"topic": ..., "count": n}, ...]}, answered with
+ * {"results": [{"cards": [{"frontText": ..., "backText": ...}, ...]}, ...]} in request order.
+ * Streaming uses POST {base-url}/v1/cards/stream with {"model", "topic", "count"}, answered
+ * with one card object per line (NDJSON) as the provider produces them.
+ */
+@Component
+public class BatchingGenerationClient {
+
+    private final ObjectMapper objectMapper;
+    private final URI batchUri;
+    private final URI streamUri;
+    private final String apiKey;
+    private final String model;
+    private final long windowMs;
+    private final int maxBatchSize;
+    private final long cacheTtlMs;
+    private final int cacheMaxEntries;
+    private final Duration timeout;
+
+    private final HttpClient httpClient;
+    private final ScheduledExecutorService batchScheduler = Executors.newSingleThreadScheduledExecutor();
+    private final Map<GenerationKey, CachedCards> cache = new ConcurrentHashMap<>();
+
+    // Requests waiting for the current window and requests already sent, by key
+    private final Object batchLock = new Object();
+    private final Map<GenerationKey, CompletableFuture<List<CardRequest>>> calls = new LinkedHashMap<>();
+    private List<GenerationKey> batch = new ArrayList<>();
+    private ScheduledFuture<?> scheduledFlush;
+
+    public BatchingGenerationClient(ObjectMapper objectMapper,
+                                    @Value("${ai.base-url:http://localhost:9090}") String baseUrl,
+                                    @Value("${ai.api-key:}") String apiKey,
+                                    @Value("${ai.model:cards-default}") String model,
+                                    @Value("${ai.batch.window-ms:25}") long windowMs,
+                                    @Value("${ai.batch.max-size:16}") int maxBatchSize,
+                                    @Value("${ai.cache.ttl-minutes:60}") long cacheTtlMinutes,
+                                    @Value("${ai.cache.max-entries:1000}") int cacheMaxEntries,
+                                    @Value("${ai.timeout-ms:15000}") long timeoutMs) {
+        this.objectMapper = objectMapper;
+        this.batchUri = URI.create(baseUrl.replaceAll("/+$", "") + "/v1/cards/batch");
+        this.streamUri = URI.create(baseUrl.replaceAll("/+$", "") + "/v1/cards/stream");
+        this.apiKey = apiKey;
+        this.model = model;
+        this.windowMs = windowMs;
+        this.maxBatchSize = maxBatchSize;
+        this.cacheTtlMs = TimeUnit.MINUTES.toMillis(cacheTtlMinutes);
+        this.cacheMaxEntries = cacheMaxEntries;
+        this.timeout = Duration.ofMillis(timeoutMs);
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    /**
+     * Cards for the topic, from the cache or the next batch call. Fails with an
+     * IOException on provider errors and once ai.timeout-ms has passed.
+     */
+    public CompletableFuture<List<CardRequest>> generate(String topic, int count) {
+        GenerationKey key = new GenerationKey(topic.trim().toLowerCase(Locale.ROOT), count);
+
+        CachedCards cached = cache.get(key);
+        if (cached != null && cached.expiresAt > System.currentTimeMillis()) {
+            return CompletableFuture.completedFuture(copy(cached.cards));
+        }
+
+        // Timed out on this caller's own stage, so the shared call stays open for the others waiting on it
+        CompletableFuture<List<CardRequest>> result = new CompletableFuture<>();
+        enqueue(key).thenApply(BatchingGenerationClient::copy)
+                .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((cards, error) -> {
+                    if (error == null) {
+                        result.complete(cards);
+                    } else {
+                        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                        result.completeExceptionally(cause instanceof IOException ? cause
+                                : cause instanceof TimeoutException ? new IOException("Card generation timed out", cause)
+                                : new IOException("Card generation failed", cause));
+                    }
+                });
+        return result;
+    }
+
+    /**
+     * Streams cards to the sink one by one, bypassing the batch window. Returning
+     * false from the sink, or interrupting the thread, closes the upstream stream.
+     * Only a complete stream is cached.
+     */
+    public void stream(String topic, int count, Predicate<CardRequest> sink) throws IOException {
+        GenerationKey key = new GenerationKey(topic.trim().toLowerCase(Locale.ROOT), count);
+
+        CachedCards cached = cache.get(key);
+        if (cached != null && cached.expiresAt > System.currentTimeMillis()) {
+            for (CardRequest card : copy(cached.cards)) {
+                if (!sink.test(card)) {
+                    return;
+                }
+            }
+            return;
+        }
+
+        ObjectNode body = objectMapper.createObjectNode()
+                .put("model", model)
+                .put("topic", key.topic)
+                .put("count", key.count);
+        HttpRequest request = HttpRequest.newBuilder(streamUri)
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/x-ndjson")
+                .header("Authorization", "Bearer " + apiKey)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                .build();
+
+        HttpResponse<Stream<String>> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofLines());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Card generation interrupted", e);
+        }
+
+        List<CardRequest> produced = new ArrayList<>();
+        try (Stream<String> lines = response.body()) {
+            if (response.statusCode() != 200) {
+                throw new IOException("Provider returned status " + response.statusCode());
+            }
+            Iterator<String> iterator = lines.iterator();
+            while (iterator.hasNext()) {
+                String line = iterator.next();
+                if (line.isBlank()) {
+                    continue;
+                }
+                JsonNode node = objectMapper.readTree(line);
+                CardRequest card = new CardRequest();
+                card.setFrontText(node.path("frontText").asText());
+                card.setBackText(node.path("backText").asText());
+                produced.add(card);
+                if (!sink.test(copy(List.of(card)).get(0))) {
+                    return;
+                }
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        cache(key, new CachedCards(produced, System.currentTimeMillis() + cacheTtlMs));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        batchScheduler.shutdownNow();
+    }
+
+    private CompletableFuture<List<CardRequest>> enqueue(GenerationKey key) {
+        synchronized (batchLock) {
+            CompletableFuture<List<CardRequest>> call = calls.get(key);
+            if (call != null) {
+                return call;
+            }
+
+            call = new CompletableFuture<>();
+            calls.put(key, call);
+            batch.add(key);
+            if (batch.size() >= maxBatchSize) {
+                List<GenerationKey> full = takeBatch();
+                batchScheduler.execute(() -> send(full));
+            } else if (scheduledFlush == null) {
+                scheduledFlush = batchScheduler.schedule(() -> {
+                    List<GenerationKey> due;
+                    synchronized (batchLock) {
+                        due = takeBatch();
+                    }
+                    send(due);
+                }, windowMs, TimeUnit.MILLISECONDS);
+            }
+            return call;
+        }
+    }
+
+    // Caller holds batchLock
+    private List<GenerationKey> takeBatch() {
+        List<GenerationKey> taken = batch;
+        batch = new ArrayList<>();
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        return taken;
+    }
+
+    private void send(List<GenerationKey> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+
+        HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder(batchUri)
+                    .timeout(timeout)
+                    .header("Content-Type", "application/json")
+                    .header("Authorization", "Bearer " + apiKey)
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(toRequestBody(keys))))
+                    .build();
+        } catch (IOException e) {
+            complete(keys, null, e);
+            return;
+        }
+
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .whenComplete((response, error) -> {
+                    if (error != null) {
+                        complete(keys, null, error);
+                    } else if (response.statusCode() != 200) {
+                        complete(keys, null, new IOException("Provider returned status " + response.statusCode()));
+                    } else {
+                        try {
+                            complete(keys, parseResults(response.body(), keys.size()), null);
+                        } catch (IOException e) {
+                            complete(keys, null, e);
+                        }
+                    }
+                });
+    }
+
+    private ObjectNode toRequestBody(List<GenerationKey> keys) {
+        ObjectNode body = objectMapper.createObjectNode();
+        body.put("model", model);
+        ArrayNode requests = body.putArray("requests");
+        for (GenerationKey key : keys) {
+            requests.addObject().put("topic", key.topic).put("count", key.count);
+        }
+        return body;
+    }
+
+    private List<List<CardRequest>> parseResults(byte[] body, int expected) throws IOException {
+        JsonNode results = objectMapper.readTree(body).path("results");
+        if (!results.isArray() || results.size() != expected) {
+            throw new IOException("Provider returned " + results.size() + " results for " + expected + " requests");
+        }
+
+        List<List<CardRequest>> parsed = new ArrayList<>();
+        for (JsonNode result : results) {
+            List<CardRequest> cards = new ArrayList<>();
+            for (JsonNode node : result.path("cards")) {
+                CardRequest card = new CardRequest();
+                card.setFrontText(node.path("frontText").asText());
+                card.setBackText(node.path("backText").asText());
+                cards.add(card);
+            }
+            parsed.add(cards);
+        }
+        return parsed;
+    }
+
+    private void complete(List<GenerationKey> keys, List<List<CardRequest>> results, Throwable error) {
+        long expiresAt = System.currentTimeMillis() + cacheTtlMs;
+        for (int i = 0; i < keys.size(); i++) {
+            GenerationKey key = keys.get(i);
+            CompletableFuture<List<CardRequest>> call;
+            synchronized (batchLock) {
+                call = calls.remove(key);
+            }
+            if (error != null) {
+                call.completeExceptionally(error);
+            } else {
+                cache(key, new CachedCards(results.get(i), expiresAt));
+                call.complete(results.get(i));
+            }
+        }
+    }
+
+    private void cache(GenerationKey key, CachedCards cards) {
+        if (cache.size() >= cacheMaxEntries) {
+            long now = System.currentTimeMillis();
+            cache.values().removeIf(entry -> entry.expiresAt <= now);
+            if (cache.size() >= cacheMaxEntries) {
+                cache.keySet().stream().findFirst().ifPresent(cache::remove);
+            }
+        }
+        cache.put(key, cards);
+    }
+
+    // Callers may modify the cards they get (e.g. image URLs), so shared results are never handed out directly
+    private static List<CardRequest> copy(List<CardRequest> cards) {
+        return cards.stream().map(card -> {
+            CardRequest copy = new CardRequest();
+            copy.setFrontText(card.getFrontText());
+            copy.setBackText(card.getBackText());
+            copy.setImageUrl(card.getImageUrl());
+            return copy;
+        }).collect(Collectors.toList());
+    }
+
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static class GenerationKey {
+        private final String topic;
+        private final int count;
+    }
+
+    @AllArgsConstructor
+    private static class CachedCards {
+        private final List<CardRequest> cards;
+        private final long expiresAt;
+    }
+}
@@ -0,0 +1,25 @@
+package com.cardify.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.UUID;
+
+/**
+ * An entity change that in-process caches on every node must evict. The entity
+ * id is null when everything of that type for the user is affected.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class CacheInvalidation {
+
+    private final EntityType entityType;
+    private final UUID userId;
+    private final UUID entityId;
+
+    public enum EntityType {
+        DECK, CARD, PROGRESS, USER
+    }
+}
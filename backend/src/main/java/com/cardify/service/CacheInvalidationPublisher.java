@@ -0,0 +1,35 @@
+package com.cardify.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Turns data-change events into cache invalidations. Runs before commit so the
+ * outbox row is part of the writing transaction.
+ */
+@Component
+public class CacheInvalidationPublisher {
+
+    private final InvalidationBus invalidationBus;
+
+    public CacheInvalidationPublisher(InvalidationBus invalidationBus) {
+        this.invalidationBus = invalidationBus;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onUserDataChanged(UserDataChangedEvent event) {
+        switch (event.getKind()) {
+            // Restored rows carry a fresh change sequence, so delta readers see them like reviews
+            case CARD_REVIEWED, PROGRESS_RESTORED -> invalidationBus.publish(new CacheInvalidation(
+                    CacheInvalidation.EntityType.PROGRESS, event.getUserId(), event.getDeckId()));
+            // Archiving deletes progress rows, which only a full reload notices
+            case DECK_CREATED, DECK_UPDATED, DECK_DELETED, PROGRESS_ARCHIVED -> {
+                invalidationBus.publish(new CacheInvalidation(
+                        CacheInvalidation.EntityType.DECK, event.getUserId(), event.getDeckId()));
+                invalidationBus.publish(new CacheInvalidation(
+                        CacheInvalidation.EntityType.CARD, event.getUserId(), event.getDeckId()));
+            }
+        }
+    }
+}
@@ -4,9 +4,12 @@ import com.cardify.dto.CardRequest;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
 
 @Service
 public class CardGenerationService {
@@ -14,15 +17,58 @@ public class CardGenerationService {
     @Value("${ai.enabled:false}")
     private boolean aiEnabled;
 
-    @Value("${ai.api-key:}")
-    private String aiApiKey;
-
+    private final BatchingGenerationClient generationClient;
     private final Random random = new Random();
 
-    public List<CardRequest> generateCards(String topic, int count) {
-        // For MVP, use mock generation based on topic keywords
-        // In production, this would call an AI API
-        
+    public CardGenerationService(BatchingGenerationClient generationClient) {
+        this.generationClient = generationClient;
+    }
+
+    // Completes without holding a thread while the provider works
+    public CompletableFuture<List<CardRequest>> generateCards(String topic, int count) {
+        if (!aiEnabled) {
+            return CompletableFuture.completedFuture(generateBuiltInCards(topic, count));
+        }
+        return generationClient.generate(topic, count).exceptionally(e -> {
+            // Fall back to the built-in cards rather than failing the request
+            System.err.println("Card generation provider failed, using built-in cards: " + e.getMessage());
+            return generateBuiltInCards(topic, count);
+        });
+    }
+
+    /**
+     * Hands each card to the sink as soon as it is produced. Generation stops when
+     * the sink returns false or the calling thread is interrupted.
+     */
+    public void streamCards(String topic, int count, Predicate<CardRequest> sink) {
+        int[] emitted = {0};
+        Predicate<CardRequest> counting = card -> {
+            emitted[0]++;
+            return sink.test(card);
+        };
+
+        if (aiEnabled) {
+            try {
+                generationClient.stream(topic, count, counting);
+                return;
+            } catch (IOException e) {
+                if (Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+                System.err.println("Card generation provider failed, using built-in cards: " + e.getMessage());
+            }
+        }
+
+        // Top up with built-in cards after whatever the provider already delivered
+        for (CardRequest card : generateBuiltInCards(topic, count - emitted[0])) {
+            if (Thread.currentThread().isInterrupted() || !sink.test(card)) {
+                return;
+            }
+        }
+    }
+
+    private List<CardRequest> generateBuiltInCards(String topic, int count) {
+        // Mock generation based on topic keywords
         String topicLower = topic.toLowerCase();
         List<CardRequest> cards = new ArrayList<>();
 
@@ -1,44 +1,72 @@
 package com.cardify.service;
 
+import com.cardify.config.DatabaseVendor;
 import com.cardify.dto.CardDto;
 import com.cardify.dto.CardProgressDto;
 import com.cardify.dto.ReviewRequest;
+import com.cardify.dto.StudyAnswerRequest;
 import com.cardify.entity.Card;
 import com.cardify.entity.CardProgress;
 import com.cardify.entity.Deck;
+import com.cardify.entity.UuidV7Generator;
 import com.cardify.repository.CardProgressRepository;
 import com.cardify.repository.CardRepository;
 import com.cardify.repository.DeckRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class CardService {
 
+    private static final int MAX_REVIEW_ATTEMPTS = 5;
+
     private final CardRepository cardRepository;
     private final CardProgressRepository cardProgressRepository;
     private final DeckRepository deckRepository;
-
-    public CardService(CardRepository cardRepository, CardProgressRepository cardProgressRepository, DeckRepository deckRepository) {
+    private final ChangeSequenceService changeSequenceService;
+    private final DeckContentService deckContentService;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProgressArchiveService progressArchiveService;
+    private final DatabaseVendor databaseVendor;
+
+    public CardService(CardRepository cardRepository, CardProgressRepository cardProgressRepository,
+                       DeckRepository deckRepository, ChangeSequenceService changeSequenceService,
+                       DeckContentService deckContentService, TransactionTemplate transactionTemplate,
+                       ApplicationEventPublisher eventPublisher, ProgressArchiveService progressArchiveService,
+                       DatabaseVendor databaseVendor) {
         this.cardRepository = cardRepository;
         this.cardProgressRepository = cardProgressRepository;
         this.deckRepository = deckRepository;
+        this.changeSequenceService = changeSequenceService;
+        this.deckContentService = deckContentService;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.progressArchiveService = progressArchiveService;
+        this.databaseVendor = databaseVendor;
     }
 
     public List<CardDto> getStudyCards(UUID deckId, UUID userId) {
         Deck deck = deckRepository.findById(deckId)
                 .orElseThrow(() -> new RuntimeException("Deck not found"));
 
-        if (!deck.getUserId().equals(userId)) {
+        if (!deckContentService.isOwner(deck, userId)) {
             throw new RuntimeException("Access denied");
         }
+        progressArchiveService.restore(userId, deck);
 
-        List<Card> cards = cardRepository.findByDeckId(deckId);
+        List<Card> cards = deckContentService.getCards(deck);
         return cards.stream().map(card -> {
             CardProgressDto progressDto = cardProgressRepository.findByUserIdAndCardId(userId, card.getId())
                     .map(cp -> new CardProgressDto(cp.getStatus(), cp.getTimesReviewed(), cp.getTimesMastered(), cp.getTimesStruggled()))
@@ -48,19 +76,94 @@ public class CardService {
         }).collect(Collectors.toList());
     }
 
-    @Transactional
     public CardProgressDto reviewCard(UUID cardId, UUID userId, ReviewRequest request) {
         Card card = cardRepository.findById(cardId)
                 .orElseThrow(() -> new RuntimeException("Card not found"));
 
-        // Verify user owns the deck
-        Deck deck = deckRepository.findById(card.getDeckId())
-                .orElseThrow(() -> new RuntimeException("Deck not found"));
-
-        if (!deck.getUserId().equals(userId)) {
+        // Verify user owns the deck or studies it through a clone
+        if (!deckContentService.canStudy(card, userId)) {
             throw new RuntimeException("Access denied");
         }
+        UUID deckId = card.getDeckId();
+        progressArchiveService.restore(userId, List.of(deckId));
+
+        if (databaseVendor.isPostgres()) {
+            return transactionTemplate.execute(status -> {
+                CardProgressDto progress = upsertReview(cardId, userId, request.getAction());
+                eventPublisher.publishEvent(new UserDataChangedEvent(userId, UserDataChangedEvent.Kind.CARD_REVIEWED, deckId));
+                return progress;
+            });
+        }
+
+        // Optimistic fallback for databases without ON CONFLICT: retry on version or unique-key races
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> {
+                    CardProgressDto progress = applyReview(cardId, userId, request.getAction());
+                    eventPublisher.publishEvent(new UserDataChangedEvent(userId, UserDataChangedEvent.Kind.CARD_REVIEWED, deckId));
+                    return progress;
+                });
+            } catch (OptimisticLockingFailureException | DataIntegrityViolationException e) {
+                if (attempt >= MAX_REVIEW_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Applies a batch of reviews in one transaction. Callers are responsible for
+     * having checked that the user may study every card in the batch.
+     */
+    public void reviewCards(UUID userId, UUID deckId, List<StudyAnswerRequest> answers) {
+        if (answers.isEmpty()) {
+            return;
+        }
+        progressArchiveService.restore(userId, List.of(deckId));
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    for (StudyAnswerRequest answer : answers) {
+                        if (databaseVendor.isPostgres()) {
+                            applyUpsert(answer.getCardId(), userId, answer.getAction());
+                        } else {
+                            applyReview(answer.getCardId(), userId, answer.getAction());
+                        }
+                    }
+                    eventPublisher.publishEvent(new UserDataChangedEvent(userId, UserDataChangedEvent.Kind.CARD_REVIEWED, deckId));
+                });
+                return;
+            } catch (OptimisticLockingFailureException | DataIntegrityViolationException e) {
+                if (databaseVendor.isPostgres() || attempt >= MAX_REVIEW_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
 
+    private CardProgressDto upsertReview(UUID cardId, UUID userId, CardProgress.ProgressStatus action) {
+        applyUpsert(cardId, userId, action);
+
+        CardProgress progress = cardProgressRepository.findByUserIdAndCardId(userId, cardId)
+                .orElseThrow(() -> new RuntimeException("Progress not found"));
+        return new CardProgressDto(progress.getStatus(), progress.getTimesReviewed(),
+                progress.getTimesMastered(), progress.getTimesStruggled());
+    }
+
+    private void applyUpsert(UUID cardId, UUID userId, CardProgress.ProgressStatus action) {
+        String status = action == CardProgress.ProgressStatus.NEW ? null : action.name();
+        int masteredIncrement = action == CardProgress.ProgressStatus.MASTERED ? 1 : 0;
+        int struggledIncrement = action == CardProgress.ProgressStatus.STRUGGLING ? 1 : 0;
+
+        long changeSeq = changeSequenceService.next(userId);
+        cardProgressRepository.upsertReview(UuidV7Generator.next(), userId, cardId, status, masteredIncrement, struggledIncrement,
+                LocalDateTime.now(), changeSeq);
+    }
+
+    private CardProgressDto applyReview(UUID cardId, UUID userId, CardProgress.ProgressStatus action) {
+        // Taken before the read: reviews of one user then read each other's committed rows instead of racing on the version
+        long changeSeq = changeSequenceService.next(userId);
         CardProgress progress = cardProgressRepository.findByUserIdAndCardId(userId, cardId)
                 .orElseGet(() -> {
                     CardProgress newProgress = new CardProgress();
@@ -72,18 +175,19 @@ public class CardService {
 
         progress.setTimesReviewed(progress.getTimesReviewed() + 1);
         progress.setLastReviewedAt(LocalDateTime.now());
+        progress.setChangeSeq(changeSeq);
 
-        if (request.getAction() == CardProgress.ProgressStatus.MASTERED) {
+        if (action == CardProgress.ProgressStatus.MASTERED) {
             progress.setTimesMastered(progress.getTimesMastered() + 1);
             progress.setStatus(CardProgress.ProgressStatus.MASTERED);
-        } else if (request.getAction() == CardProgress.ProgressStatus.STRUGGLING) {
+        } else if (action == CardProgress.ProgressStatus.STRUGGLING) {
             progress.setTimesStruggled(progress.getTimesStruggled() + 1);
             progress.setStatus(CardProgress.ProgressStatus.STRUGGLING);
-        } else if (request.getAction() == CardProgress.ProgressStatus.LEARNING) {
+        } else if (action == CardProgress.ProgressStatus.LEARNING) {
             progress.setStatus(CardProgress.ProgressStatus.LEARNING);
         }
 
-        progress = cardProgressRepository.save(progress);
+        progress = cardProgressRepository.saveAndFlush(progress);
 
         return new CardProgressDto(progress.getStatus(), progress.getTimesReviewed(), 
                 progress.getTimesMastered(), progress.getTimesStruggled());
@@ -91,18 +195,35 @@ public class CardService {
 
     public List<CardDto> getQuickReviewCards(UUID userId, int limit) {
         List<CardProgress> progressList = cardProgressRepository.findNonMasteredCardsForUser(userId);
-        
-        return progressList.stream()
+
+        // Cards without a progress row are NEW: they rank after STRUGGLING and before LEARNING
+        List<CardDto> struggling = new ArrayList<>();
+        List<CardDto> fresh = new ArrayList<>();
+        List<CardDto> learning = new ArrayList<>();
+        for (CardProgress cp : progressList) {
+            List<CardDto> bucket = cp.getStatus() == CardProgress.ProgressStatus.STRUGGLING ? struggling
+                    : cp.getStatus() == CardProgress.ProgressStatus.LEARNING ? learning : fresh;
+            if (bucket.size() >= limit) {
+                continue;
+            }
+            Card card = cardRepository.findById(cp.getCardId())
+                    .orElseThrow(() -> new RuntimeException("Card not found"));
+            CardProgressDto progressDto = new CardProgressDto(cp.getStatus(), cp.getTimesReviewed(),
+                    cp.getTimesMastered(), cp.getTimesStruggled());
+            bucket.add(new CardDto(card.getId(), card.getFrontText(), card.getBackText(),
+                    card.getImageUrl(), progressDto));
+        }
+
+        int untouchedNeeded = limit - struggling.size() - fresh.size();
+        if (untouchedNeeded > 0) {
+            cardRepository.findUnreviewedCardsForUser(userId, PageRequest.of(0, untouchedNeeded))
+                    .forEach(card -> fresh.add(new CardDto(card.getId(), card.getFrontText(), card.getBackText(),
+                            card.getImageUrl(), new CardProgressDto(CardProgress.ProgressStatus.NEW, 0, 0, 0))));
+        }
+
+        return Stream.of(struggling, fresh, learning)
+                .flatMap(List::stream)
                 .limit(limit)
-                .map(cp -> {
-                    Card card = cardRepository.findById(cp.getCardId())
-                            .orElseThrow(() -> new RuntimeException("Card not found"));
-                    CardProgressDto progressDto = new CardProgressDto(cp.getStatus(), cp.getTimesReviewed(), 
-                            cp.getTimesMastered(), cp.getTimesStruggled());
-                    return new CardDto(card.getId(), card.getFrontText(), card.getBackText(), 
-                            card.getImageUrl(), progressDto);
-                })
                 .collect(Collectors.toList());
     }
 }
-
@@ -0,0 +1,88 @@
+package com.cardify.service;
+
+import com.cardify.dto.CardRequest;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Streams generated cards to the client as SSE "card" events while they are produced,
+ * followed by a "done" event. Generation runs on a bounded pool; when the client
+ * disconnects or the stream times out, the task is interrupted and the upstream
+ * call is closed, so abandoned requests stop using generation capacity.
+ */
+@Service
+public class CardStreamService {
+
+    private final CardGenerationService cardGenerationService;
+    private final long timeoutMs;
+    private final ThreadPoolExecutor executor;
+
+    public CardStreamService(CardGenerationService cardGenerationService,
+                             @Value("${generation.stream.timeout-ms:60000}") long timeoutMs,
+                             @Value("${generation.stream.threads:8}") int threads,
+                             @Value("${generation.stream.queue-capacity:32}") int queueCapacity) {
+        this.cardGenerationService = cardGenerationService;
+        this.timeoutMs = timeoutMs;
+        // Rejects with RejectedExecutionException once the queue is full
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity));
+    }
+
+    public SseEmitter stream(String topic, int count) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        AtomicReference<Future<?>> task = new AtomicReference<>();
+        Runnable cancel = () -> {
+            Future<?> running = task.get();
+            if (running != null) {
+                running.cancel(true);
+            }
+        };
+        emitter.onCompletion(cancel);
+        emitter.onTimeout(cancel);
+        emitter.onError(e -> cancel.run());
+
+        task.set(executor.submit(() -> generate(emitter, topic, count)));
+        return emitter;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void generate(SseEmitter emitter, String topic, int count) {
+        AtomicInteger sent = new AtomicInteger();
+        cardGenerationService.streamCards(topic, count, card -> {
+            boolean delivered = send(emitter, "card", card);
+            if (delivered) {
+                sent.incrementAndGet();
+            }
+            return delivered;
+        });
+
+        if (!Thread.currentThread().isInterrupted() && send(emitter, "done", Map.of("count", sent.get()))) {
+            emitter.complete();
+        }
+    }
+
+    // A failed send means the client went away: returning false stops generation
+    private static boolean send(SseEmitter emitter, String name, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            return false;
+        }
+    }
+}
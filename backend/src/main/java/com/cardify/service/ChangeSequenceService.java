@@ -0,0 +1,42 @@
+package com.cardify.service;
+
+import com.cardify.entity.Tombstone;
+import com.cardify.repository.TombstoneRepository;
+import com.cardify.repository.UserRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+@Service
+public class ChangeSequenceService {
+
+    private final UserRepository userRepository;
+    private final TombstoneRepository tombstoneRepository;
+
+    public ChangeSequenceService(UserRepository userRepository, TombstoneRepository tombstoneRepository) {
+        this.userRepository = userRepository;
+        this.tombstoneRepository = tombstoneRepository;
+    }
+
+    /**
+     * Allocates the next change sequence for the user. The user row stays locked
+     * until the surrounding transaction commits, so sequences become visible in order.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long next(UUID userId) {
+        userRepository.incrementChangeSeq(userId);
+        return userRepository.findChangeSeqById(userId);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeletion(UUID userId, Tombstone.EntityType entityType, UUID entityId, long changeSeq) {
+        Tombstone tombstone = new Tombstone();
+        tombstone.setUserId(userId);
+        tombstone.setEntityType(entityType);
+        tombstone.setEntityId(entityId);
+        tombstone.setChangeSeq(changeSeq);
+        tombstoneRepository.save(tombstone);
+    }
+}
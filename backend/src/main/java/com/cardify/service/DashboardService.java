@@ -1,26 +1,128 @@
 package com.cardify.service;
 
+import com.cardify.config.Workload;
 import com.cardify.dto.DashboardStatsDto;
-import com.cardify.repository.CardProgressRepository;
+import com.cardify.dto.DeckAnalyticsDto;
+import com.cardify.dto.HistogramBucketDto;
+import com.cardify.dto.ProgressAnalyticsDto;
+import com.cardify.entity.CardProgress;
+import com.cardify.entity.Deck;
+import com.cardify.entity.ProgressArchive;
+import com.cardify.repository.DeckRepository;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
-public class DashboardService {
+public class DashboardService implements InvalidationListener {
 
-    private final CardProgressRepository cardProgressRepository;
+    private static final int NEW = CardProgress.ProgressStatus.NEW.ordinal();
+    private static final int LEARNING = CardProgress.ProgressStatus.LEARNING.ordinal();
+    private static final int MASTERED = CardProgress.ProgressStatus.MASTERED.ordinal();
+    private static final int STRUGGLING = CardProgress.ProgressStatus.STRUGGLING.ordinal();
 
-    public DashboardService(CardProgressRepository cardProgressRepository) {
-        this.cardProgressRepository = cardProgressRepository;
+    private final DeckRepository deckRepository;
+    private final DeckContentService deckContentService;
+    private final ProgressAnalyticsStore progressAnalyticsStore;
+    private final ProgressArchiveService progressArchiveService;
+    // Parallel requests for the same user's stats (several tabs, double renders) share one computation
+    private final SingleFlight<UUID, DashboardStatsDto> statsFlight = new SingleFlight<>();
+
+    public DashboardService(DeckRepository deckRepository, DeckContentService deckContentService,
+                            ProgressAnalyticsStore progressAnalyticsStore, ProgressArchiveService progressArchiveService) {
+        this.deckRepository = deckRepository;
+        this.deckContentService = deckContentService;
+        this.progressAnalyticsStore = progressAnalyticsStore;
+        this.progressArchiveService = progressArchiveService;
     }
 
     public DashboardStatsDto getDashboardStats(UUID userId) {
-        Long masteredCards = cardProgressRepository.countMasteredCardsByUserId(userId);
-        Long strugglingCards = cardProgressRepository.countStrugglingCardsByUserId(userId);
-        Long reviewedToday = cardProgressRepository.countCardsReviewedTodayByUserId(userId);
-        
-        return new DashboardStatsDto(masteredCards, strugglingCards, reviewedToday);
+        return statsFlight.execute(userId, () -> loadDashboardStats(userId));
+    }
+
+    // Status totals, review distribution and per-deck breakdown, counted from the in-memory columns;
+    // archived decks are unpacked in memory instead of being restored
+    @Workload(Workload.Pool.BULK)
+    public ProgressAnalyticsDto getAnalytics(UUID userId) {
+        Map<UUID, ProgressArchive> archives = progressArchiveService.getArchives(userId);
+        List<DeckAnalyticsDto> decks = new ArrayList<>();
+        Set<UUID> liveCardIds = new LinkedHashSet<>();
+        Set<UUID> archivedCardIds = new LinkedHashSet<>();
+        Map<UUID, CardProgress> archivedRows = new HashMap<>();
+        for (Deck deck : deckRepository.findByUserIdOrderByUpdatedAtDesc(userId)) {
+            List<UUID> cardIds = deckContentService.getCardIds(deck);
+            long[] counts;
+            ProgressArchive archive = archives.get(deck.getId());
+            if (archive == null) {
+                liveCardIds.addAll(cardIds);
+                counts = progressAnalyticsStore.countByStatus(userId, cardIds);
+            } else {
+                archivedCardIds.addAll(cardIds);
+                progressArchiveService.readRows(archive).forEach(row -> archivedRows.put(row.getCardId(), row));
+                counts = new long[CardProgress.ProgressStatus.values().length];
+                for (UUID cardId : cardIds) {
+                    counts[statusOf(archivedRows.get(cardId))]++;
+                }
+            }
+            decks.add(new DeckAnalyticsDto(deck.getId(), deck.getTitle(), (long) cardIds.size(),
+                    counts[NEW], counts[LEARNING], counts[MASTERED], counts[STRUGGLING]));
+        }
+
+        long[] totals = progressAnalyticsStore.countByStatus(userId, liveCardIds);
+        long[] histogram = progressAnalyticsStore.reviewHistogram(userId, liveCardIds);
+        archivedCardIds.removeAll(liveCardIds);
+        for (UUID cardId : archivedCardIds) {
+            CardProgress row = archivedRows.get(cardId);
+            totals[statusOf(row)]++;
+            histogram[ProgressAnalyticsStore.bucketOf(row != null ? row.getTimesReviewed() : 0)]++;
+        }
+
+        int[] bounds = ProgressAnalyticsStore.REVIEW_BUCKETS;
+        List<HistogramBucketDto> reviewsPerCard = new ArrayList<>();
+        for (int i = 0; i < bounds.length; i++) {
+            Integer max = i + 1 < bounds.length ? bounds[i + 1] - 1 : null;
+            String label = max == null ? bounds[i] + "+" : max == bounds[i] ? String.valueOf(max) : bounds[i] + "-" + max;
+            reviewsPerCard.add(new HistogramBucketDto(label, bounds[i], max, histogram[i]));
+        }
+
+        return new ProgressAnalyticsDto((long) (liveCardIds.size() + archivedCardIds.size()), totals[NEW], totals[LEARNING],
+                totals[MASTERED], totals[STRUGGLING], reviewedToday(userId), reviewsPerCard, decks);
+    }
+
+    @Override
+    public void onInvalidation(CacheInvalidation invalidation) {
+        statsFlight.forget(userId -> userId.equals(invalidation.getUserId()));
     }
-}
 
+    @Override
+    public void onInvalidateAll() {
+        statsFlight.forgetAll();
+    }
+
+    private DashboardStatsDto loadDashboardStats(UUID userId) {
+        long[] counts = progressAnalyticsStore.countByStatus(userId);
+        long mastered = counts[MASTERED];
+        long struggling = counts[STRUGGLING];
+        for (ProgressArchive archive : progressArchiveService.getArchives(userId).values()) {
+            mastered += archive.getMasteredCount();
+            struggling += archive.getStrugglingCount();
+        }
+        return new DashboardStatsDto(mastered, struggling, reviewedToday(userId));
+    }
+
+    // Cards without a progress row are NEW
+    private static int statusOf(CardProgress row) {
+        return row != null ? row.getStatus().ordinal() : NEW;
+    }
+
+    private long reviewedToday(UUID userId) {
+        return progressAnalyticsStore.countReviewedSince(userId, LocalDate.now().atStartOfDay());
+    }
+}
@@ -0,0 +1,104 @@
+package com.cardify.service;
+
+import com.cardify.entity.Card;
+import com.cardify.entity.Deck;
+import com.cardify.repository.CardRepository;
+import com.cardify.repository.DeckRepository;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Resolves the cards a deck presents. A clone stores no card rows of its own
+ * until one is edited: its cards are the source deck's cards, with the clone's
+ * copy-on-write rows substituted in place and its added cards appended.
+ */
+@Service
+public class DeckContentService {
+
+    private final DeckRepository deckRepository;
+    private final CardRepository cardRepository;
+
+    public DeckContentService(DeckRepository deckRepository, CardRepository cardRepository) {
+        this.deckRepository = deckRepository;
+        this.cardRepository = cardRepository;
+    }
+
+    public List<Card> getCards(Deck deck) {
+        List<Card> ownCards = cardRepository.findByDeckId(deck.getId());
+        if (deck.getSourceDeckId() == null) {
+            return ownCards;
+        }
+
+        Map<UUID, Card> overrides = ownCards.stream()
+                .filter(card -> card.getSourceCardId() != null)
+                .collect(Collectors.toMap(Card::getSourceCardId, Function.identity()));
+
+        List<Card> cards = new ArrayList<>();
+        for (Card sourceCard : cardRepository.findByDeckId(deck.getSourceDeckId())) {
+            Card card = overrides.getOrDefault(sourceCard.getId(), sourceCard);
+            if (!Boolean.TRUE.equals(card.getRemoved())) {
+                cards.add(card);
+            }
+        }
+        ownCards.stream()
+                .filter(card -> card.getSourceCardId() == null)
+                .forEach(cards::add);
+        return cards;
+    }
+
+    // Same resolution as getCards, returning only the ids in deck order
+    public List<UUID> getCardIds(Deck deck) {
+        List<CardRepository.CardRef> ownCards = cardRepository.findRefsByDeckIdOrderByCreatedAt(deck.getId());
+        if (deck.getSourceDeckId() == null) {
+            return ownCards.stream().map(CardRepository.CardRef::getId).collect(Collectors.toList());
+        }
+
+        Map<UUID, CardRepository.CardRef> overrides = ownCards.stream()
+                .filter(card -> card.getSourceCardId() != null)
+                .collect(Collectors.toMap(CardRepository.CardRef::getSourceCardId, Function.identity()));
+
+        List<UUID> ids = new ArrayList<>();
+        for (CardRepository.CardRef sourceCard : cardRepository.findRefsByDeckIdOrderByCreatedAt(deck.getSourceDeckId())) {
+            CardRepository.CardRef card = overrides.getOrDefault(sourceCard.getId(), sourceCard);
+            if (!Boolean.TRUE.equals(card.getRemoved())) {
+                ids.add(card.getId());
+            }
+        }
+        ownCards.stream()
+                .filter(card -> card.getSourceCardId() == null)
+                .forEach(card -> ids.add(card.getId()));
+        return ids;
+    }
+
+    public long countCards(Deck deck) {
+        if (deck.getSourceDeckId() == null) {
+            return cardRepository.countByDeckId(deck.getId());
+        }
+        return cardRepository.countByDeckId(deck.getSourceDeckId())
+                + cardRepository.countByDeckIdAndSourceCardIdIsNull(deck.getId())
+                - cardRepository.countByDeckIdAndRemovedTrue(deck.getId());
+    }
+
+    public boolean isOwner(Deck deck, UUID userId) {
+        return deck.getUserId().equals(userId) && !Boolean.TRUE.equals(deck.getRetired());
+    }
+
+    /**
+     * A user may study a card that sits in one of their decks or in the source
+     * deck of one of their clones.
+     */
+    public boolean canStudy(Card card, UUID userId) {
+        if (Boolean.TRUE.equals(card.getRemoved())) {
+            return false;
+        }
+        Deck deck = deckRepository.findById(card.getDeckId())
+                .orElseThrow(() -> new RuntimeException("Deck not found"));
+        return isOwner(deck, userId) || deckRepository.existsByUserIdAndSourceDeckId(userId, deck.getId());
+    }
+}
@@ -1,49 +1,92 @@
 package com.cardify.service;
 
+import com.cardify.config.Workload;
 import com.cardify.dto.*;
 import com.cardify.entity.Card;
 import com.cardify.entity.CardProgress;
 import com.cardify.entity.Deck;
+import com.cardify.entity.ProgressArchive;
+import com.cardify.entity.Tombstone;
 import com.cardify.repository.CardProgressRepository;
 import com.cardify.repository.CardRepository;
 import com.cardify.repository.DeckRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
-public class DeckService {
+public class DeckService implements InvalidationListener {
 
     private final DeckRepository deckRepository;
     private final CardRepository cardRepository;
     private final CardProgressRepository cardProgressRepository;
+    private final ChangeSequenceService changeSequenceService;
+    private final DeckContentService deckContentService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProgressAnalyticsStore progressAnalyticsStore;
+    private final ProgressArchiveService progressArchiveService;
+    // Duplicate parallel reads from the same user share one computation; writes detach them via invalidation
+    private final SingleFlight<UUID, List<DeckDto>> userDecksFlight = new SingleFlight<>();
+    private final SingleFlight<Map.Entry<UUID, UUID>, DeckDto> deckFlight = new SingleFlight<>();
 
-    public DeckService(DeckRepository deckRepository, CardRepository cardRepository, CardProgressRepository cardProgressRepository) {
+    public DeckService(DeckRepository deckRepository, CardRepository cardRepository,
+                       CardProgressRepository cardProgressRepository, ChangeSequenceService changeSequenceService,
+                       DeckContentService deckContentService, ApplicationEventPublisher eventPublisher,
+                       ProgressAnalyticsStore progressAnalyticsStore, ProgressArchiveService progressArchiveService) {
         this.deckRepository = deckRepository;
         this.cardRepository = cardRepository;
         this.cardProgressRepository = cardProgressRepository;
+        this.changeSequenceService = changeSequenceService;
+        this.deckContentService = deckContentService;
+        this.eventPublisher = eventPublisher;
+        this.progressAnalyticsStore = progressAnalyticsStore;
+        this.progressArchiveService = progressArchiveService;
     }
 
     public List<DeckDto> getUserDecks(UUID userId) {
+        return userDecksFlight.execute(userId, () -> loadUserDecks(userId));
+    }
+
+    public DeckDto getDeck(UUID deckId, UUID userId) {
+        return deckFlight.execute(Map.entry(userId, deckId), () -> loadDeck(deckId, userId));
+    }
+
+    @Override
+    public void onInvalidation(CacheInvalidation invalidation) {
+        UUID userId = invalidation.getUserId();
+        userDecksFlight.forget(userId::equals);
+        deckFlight.forget(key -> key.getKey().equals(userId));
+    }
+
+    @Override
+    public void onInvalidateAll() {
+        userDecksFlight.forgetAll();
+        deckFlight.forgetAll();
+    }
+
+    private List<DeckDto> loadUserDecks(UUID userId) {
         List<Deck> decks = deckRepository.findByUserIdOrderByUpdatedAtDesc(userId);
+        // Archived decks are listed from their archive summary rather than restored
+        Map<UUID, ProgressArchive> archives = progressArchiveService.getArchives(userId);
         return decks.stream().map(deck -> {
-            List<Card> cards = cardRepository.findByDeckId(deck.getId());
-            long totalCards = cards.size();
-            long masteredCards = cardProgressRepository.countMasteredCardsByUserId(userId);
-            // Calculate mastered for this specific deck
-            long deckMastered = cards.stream()
-                    .mapToLong(card -> {
-                        return cardProgressRepository.findByUserIdAndCardId(userId, card.getId())
-                                .map(cp -> cp.getStatus() == CardProgress.ProgressStatus.MASTERED ? 1L : 0L)
-                                .orElse(0L);
-                    })
-                    .sum();
-            
+            List<UUID> cardIds = deckContentService.getCardIds(deck);
+            long totalCards = cardIds.size();
+            ProgressArchive archive = archives.get(deck.getId());
+            long deckMastered = archive != null ? archive.getMasteredCount()
+                    : progressAnalyticsStore.countByStatus(userId, cardIds)[CardProgress.ProgressStatus.MASTERED.ordinal()];
+
             double masteredPercent = totalCards > 0 ? (double) deckMastered / totalCards * 100 : 0.0;
-            
+
             DeckDto dto = new DeckDto();
             dto.setId(deck.getId());
             dto.setTitle(deck.getTitle());
@@ -53,17 +96,24 @@ public class DeckService {
             dto.setTotalCards(totalCards);
             dto.setMasteredCards(deckMastered);
             dto.setMasteredPercent(masteredPercent);
+            dto.setSourceDeckId(deck.getSourceDeckId());
+            dto.setShared(Boolean.TRUE.equals(deck.getShared()));
             return dto;
         }).collect(Collectors.toList());
     }
 
     @Transactional
+    @Workload(Workload.Pool.BULK)
     public DeckDto createDeck(UUID userId, CreateDeckRequest request) {
+        long changeSeq = changeSequenceService.next(userId);
+
         Deck deck = new Deck();
         deck.setUserId(userId);
+        deck.setChangeSeq(changeSeq);
         deck.setTitle(request.getTitle());
         deck.setSubject(request.getSubject());
-        deck = deckRepository.save(deck);
+        // persist() assigns the id on this instance, which keeps it usable in the lambdas below
+        deckRepository.save(deck);
 
         List<Card> cards = request.getCards().stream().map(cardReq -> {
             Card card = new Card();
@@ -71,19 +121,14 @@ public class DeckService {
             card.setFrontText(cardReq.getFrontText());
             card.setBackText(cardReq.getBackText());
             card.setImageUrl(cardReq.getImageUrl());
+            card.setChangeSeq(changeSeq);
             return card;
         }).collect(Collectors.toList());
 
+        // Progress rows are created on first review; a missing row means NEW
         cards = cardRepository.saveAll(cards);
 
-        // Initialize progress for all cards
-        cards.forEach(card -> {
-            CardProgress progress = new CardProgress();
-            progress.setUserId(userId);
-            progress.setCardId(card.getId());
-            progress.setStatus(CardProgress.ProgressStatus.NEW);
-            cardProgressRepository.save(progress);
-        });
+        eventPublisher.publishEvent(new UserDataChangedEvent(userId, UserDataChangedEvent.Kind.DECK_CREATED, deck.getId()));
 
         DeckDto dto = new DeckDto();
         dto.setId(deck.getId());
@@ -97,31 +142,27 @@ public class DeckService {
         return dto;
     }
 
-    public DeckDto getDeck(UUID deckId, UUID userId) {
+    private DeckDto loadDeck(UUID deckId, UUID userId) {
         Deck deck = deckRepository.findById(deckId)
                 .orElseThrow(() -> new RuntimeException("Deck not found"));
 
-        if (!deck.getUserId().equals(userId)) {
+        if (!deckContentService.isOwner(deck, userId)) {
             throw new RuntimeException("Access denied");
         }
+        progressArchiveService.restore(userId, deck);
 
-        List<Card> cards = cardRepository.findByDeckId(deckId);
-        List<CardDto> cardDtos = cards.stream().map(card -> {
-            CardProgressDto progressDto = cardProgressRepository.findByUserIdAndCardId(userId, card.getId())
-                    .map(cp -> new CardProgressDto(cp.getStatus(), cp.getTimesReviewed(), cp.getTimesMastered(), cp.getTimesStruggled()))
-                    .orElse(new CardProgressDto(CardProgress.ProgressStatus.NEW, 0, 0, 0));
-
-            return new CardDto(card.getId(), card.getFrontText(), card.getBackText(), card.getImageUrl(), progressDto);
-        }).collect(Collectors.toList());
+        List<Card> cards = deckContentService.getCards(deck);
+        Map<UUID, CardProgressDto> progress = progressAnalyticsStore.progressOf(userId,
+                cards.stream().map(Card::getId).collect(Collectors.toList()));
+        List<CardDto> cardDtos = cards.stream()
+                .map(card -> new CardDto(card.getId(), card.getFrontText(), card.getBackText(), card.getImageUrl(),
+                        progress.get(card.getId())))
+                .collect(Collectors.toList());
 
         long totalCards = cards.size();
-        long masteredCards = cards.stream()
-                .mapToLong(card -> {
-                    return cardProgressRepository.findByUserIdAndCardId(userId, card.getId())
-                            .map(cp -> cp.getStatus() == CardProgress.ProgressStatus.MASTERED ? 1L : 0L)
-                            .orElse(0L);
-                })
-                .sum();
+        long masteredCards = progress.values().stream()
+                .filter(p -> p.getStatus() == CardProgress.ProgressStatus.MASTERED)
+                .count();
         double masteredPercent = totalCards > 0 ? (double) masteredCards / totalCards * 100 : 0.0;
 
         DeckDto dto = new DeckDto();
@@ -133,31 +174,339 @@ public class DeckService {
         dto.setTotalCards(totalCards);
         dto.setMasteredCards(masteredCards);
         dto.setMasteredPercent(masteredPercent);
+        dto.setSourceDeckId(deck.getSourceDeckId());
+        dto.setShared(Boolean.TRUE.equals(deck.getShared()));
         dto.setCards(cardDtos);
         return dto;
     }
 
     @Transactional
+    @Workload(Workload.Pool.BULK)
+    public DeckDto cloneDeck(UUID sourceDeckId, UUID userId) {
+        Deck source = deckRepository.findById(sourceDeckId)
+                .filter(deck -> !Boolean.TRUE.equals(deck.getRetired()))
+                .orElseThrow(() -> new RuntimeException("Deck not found"));
+
+        if (!deckContentService.isOwner(source, userId) && !Boolean.TRUE.equals(source.getShared())) {
+            throw new RuntimeException("Access denied");
+        }
+
+        long changeSeq = changeSequenceService.next(userId);
+
+        // Clones always reference the root deck, so chains never grow past one hop
+        Deck clone = new Deck();
+        clone.setUserId(userId);
+        clone.setTitle(source.getTitle());
+        clone.setSubject(source.getSubject());
+        clone.setSourceDeckId(source.getSourceDeckId() != null ? source.getSourceDeckId() : source.getId());
+        clone.setChangeSeq(changeSeq);
+        deckRepository.save(clone);
+
+        // Cloning a clone carries over only the cards it already copied or added
+        if (source.getSourceDeckId() != null) {
+            List<Card> copies = cardRepository.findByDeckId(source.getId()).stream().map(card -> {
+                Card copy = copyCard(card, clone.getId(), changeSeq);
+                copy.setSourceCardId(card.getSourceCardId());
+                copy.setRemoved(card.getRemoved());
+                return copy;
+            }).collect(Collectors.toList());
+            cardRepository.saveAll(copies);
+        }
+
+        eventPublisher.publishEvent(new UserDataChangedEvent(userId, UserDataChangedEvent.Kind.DECK_CREATED, clone.getId()));
+
+        DeckDto dto = new DeckDto();
+        dto.setId(clone.getId());
+        dto.setTitle(clone.getTitle());
+        dto.setSubject(clone.getSubject());
+        dto.setCreatedAt(clone.getCreatedAt());
+        dto.setUpdatedAt(clone.getUpdatedAt());
+        dto.setTotalCards(deckContentService.countCards(clone));
+        dto.setMasteredCards(0L);
+        dto.setMasteredPercent(0.0);
+        dto.setSourceDeckId(clone.getSourceDeckId());
+        dto.setShared(false);
+        return dto;
+    }
+
+    /**
+     * Applies a diff to a deck in one transaction. Existing cards keep their ids and
+     * progress. In a clone, the first edit of a source card stores a copy-on-write
+     * card and moves the learner's progress onto it; removing a source card stores a
+     * removed marker. Cards removed from a deck that has clones stay in the clones.
+     * A removed card loses its progress only once none of the user's decks shows it.
+     */
+    @Transactional
+    public DeckDto updateDeck(UUID deckId, UUID userId, UpdateDeckRequest request) {
+        Deck deck = deckRepository.findById(deckId)
+                .orElseThrow(() -> new RuntimeException("Deck not found"));
+
+        if (!deckContentService.isOwner(deck, userId)) {
+            throw new RuntimeException("Access denied");
+        }
+        List<Deck> clones = deck.getSourceDeckId() == null ? deckRepository.findBySourceDeckId(deckId) : List.of();
+        // Every clone is touched under its owner's user lock (see touchClone). All of them are
+        // taken here in id order, so two such edits can never wait on each other's locks
+        if (!clones.isEmpty()) {
+            Stream.concat(Stream.of(userId), clones.stream().map(Deck::getUserId))
+                    .distinct()
+                    .sorted()
+                    .forEach(changeSequenceService::next);
+        }
+        // Progress is moved and deleted below, so it has to be live
+        progressArchiveService.restore(userId, deck);
+
+        long changeSeq = changeSequenceService.next(userId);
+        // Each card may appear once in the diff: handled cards leave this map
+        Map<UUID, Card> visible = deckContentService.getCards(deck).stream()
+                .collect(Collectors.toMap(Card::getId, Function.identity()));
+
+        List<Card> toSave = new ArrayList<>();
+        List<Card> toDelete = new ArrayList<>();
+        Map<UUID, Card> copiesOnWrite = new LinkedHashMap<>();
+        List<UUID> removedIds = new ArrayList<>();
+
+        for (CardUpdateRequest update : nullToEmpty(request.getUpdatedCards())) {
+            Card card = takeVisible(visible, update.getId());
+            if (!card.getDeckId().equals(deckId)) {
+                Card copy = copyCard(card, deckId, changeSeq);
+                copy.setSourceCardId(card.getId());
+                applyUpdate(copy, update);
+                copiesOnWrite.put(card.getId(), copy);
+                toSave.add(copy);
+            } else {
+                applyUpdate(card, update);
+                card.setChangeSeq(changeSeq);
+                toSave.add(card);
+            }
+        }
+
+        for (UUID cardId : nullToEmpty(request.getRemovedCardIds())) {
+            Card card = takeVisible(visible, cardId);
+            if (!card.getDeckId().equals(deckId)) {
+                Card marker = copyCard(card, deckId, changeSeq);
+                marker.setSourceCardId(card.getId());
+                marker.setRemoved(true);
+                toSave.add(marker);
+            } else if (card.getSourceCardId() != null) {
+                // An edited source card becomes the marker, so the original does not reappear
+                card.setRemoved(true);
+                card.setChangeSeq(changeSeq);
+                toSave.add(card);
+            } else {
+                toDelete.add(card);
+            }
+            removedIds.add(cardId);
+        }
+
+        for (CardRequest cardRequest : nullToEmpty(request.getAddedCards())) {
+            Card card = new Card();
+            card.setDeckId(deckId);
+            card.setFrontText(cardRequest.getFrontText());
+            card.setBackText(cardRequest.getBackText());
+            card.setImageUrl(cardRequest.getImageUrl());
+            card.setChangeSeq(changeSeq);
+            toSave.add(card);
+        }
+
+        if (request.getTitle() != null) {
+            deck.setTitle(request.getTitle());
+        }
+        if (request.getSubject() != null) {
+            deck.setSubject(request.getSubject());
+        }
+        // The new change sequence makes the deck dirty, so updatedAt is touched exactly once
+        deck.setChangeSeq(changeSeq);
+        deckRepository.save(deck);
+
+        // Inserts and updates go out as JDBC batches (hibernate.jdbc.batch_size)
+        cardRepository.saveAll(toSave);
+
+        copiesOnWrite.forEach((sourceCardId, copy) -> {
+            cardProgressRepository.moveToCard(userId, sourceCardId, copy.getId(), changeSeq);
+            changeSequenceService.recordDeletion(userId, Tombstone.EntityType.PROGRESS, sourceCardId, changeSeq);
+        });
+        // A card removed here may still be shown by another of the user's decks: its progress and id stay
+        Set<UUID> visibleElsewhere = removedIds.isEmpty() ? Set.of() : visibleElsewhere(deck, userId);
+        removedIds.removeIf(visibleElsewhere::contains);
+        if (!removedIds.isEmpty()) {
+            removedIds.forEach(cardId -> {
+                changeSequenceService.recordDeletion(userId, Tombstone.EntityType.PROGRESS, cardId, changeSeq);
+                changeSequenceService.recordDeletion(userId, Tombstone.EntityType.CARD, cardId, changeSeq);
+            });
+            cardProgressRepository.deleteByUserIdAndCardIdIn(userId, removedIds);
+        }
+
+        if (!toDelete.isEmpty()) {
+            clones.forEach(clone -> keepInClone(clone, toDelete));
+            cardRepository.deleteAllByIdInBatch(toDelete.stream().map(Card::getId).collect(Collectors.toList()));
+        }
+        clones.forEach(this::touchClone);
+
+        eventPublisher.publishEvent(new UserDataChangedEvent(userId, UserDataChangedEvent.Kind.DECK_UPDATED, deckId));
+        // Clones present this deck's cards, so their owners see the edit too
+        clones.forEach(clone -> eventPublisher.publishEvent(
+                new UserDataChangedEvent(clone.getUserId(), UserDataChangedEvent.Kind.DECK_UPDATED, clone.getId())));
+
+        return loadDeck(deckId, userId);
+    }
+
+    // Gives the clone its own copy of cards its source deck is about to delete; the learner's progress follows.
+    // The clone owner's user lock is already held (see updateDeck)
+    private void keepInClone(Deck clone, List<Card> removed) {
+        UUID cloneOwner = clone.getUserId();
+        progressArchiveService.restore(cloneOwner, clone);
+        long changeSeq = changeSequenceService.next(cloneOwner);
+        Map<UUID, Card> overrides = cardRepository.findByDeckIdAndSourceCardIdIn(clone.getId(),
+                        removed.stream().map(Card::getId).collect(Collectors.toList())).stream()
+                .collect(Collectors.toMap(Card::getSourceCardId, Function.identity()));
+
+        List<Card> toSave = new ArrayList<>();
+        List<UUID> obsoleteMarkers = new ArrayList<>();
+        Map<UUID, Card> copies = new LinkedHashMap<>();
+        for (Card card : removed) {
+            Card override = overrides.get(card.getId());
+            if (override == null) {
+                Card copy = copyCard(card, clone.getId(), changeSeq);
+                copies.put(card.getId(), copy);
+                toSave.add(copy);
+            } else if (Boolean.TRUE.equals(override.getRemoved())) {
+                obsoleteMarkers.add(override.getId());
+            } else {
+                // The clone's edited copy simply becomes one of its own cards
+                override.setSourceCardId(null);
+                override.setChangeSeq(changeSeq);
+                toSave.add(override);
+            }
+        }
+
+        cardRepository.saveAll(toSave);
+        if (!obsoleteMarkers.isEmpty()) {
+            cardRepository.deleteAllByIdInBatch(obsoleteMarkers);
+        }
+        copies.forEach((sourceCardId, copy) -> {
+            cardProgressRepository.moveToCard(cloneOwner, sourceCardId, copy.getId(), changeSeq);
+            changeSequenceService.recordDeletion(cloneOwner, Tombstone.EntityType.PROGRESS, sourceCardId, changeSeq);
+            changeSequenceService.recordDeletion(cloneOwner, Tombstone.EntityType.CARD, sourceCardId, changeSeq);
+        });
+    }
+
+    // Cards are only shared within one root deck and its clones, so only those decks are resolved
+    private Set<UUID> visibleElsewhere(Deck deck, UUID userId) {
+        UUID rootId = deck.getSourceDeckId() != null ? deck.getSourceDeckId() : deck.getId();
+        return Stream.concat(deckRepository.findById(rootId).stream(), deckRepository.findBySourceDeckId(rootId).stream())
+                .filter(other -> !other.getId().equals(deck.getId()) && deckContentService.isOwner(other, userId))
+                .flatMap(other -> deckContentService.getCardIds(other).stream())
+                .collect(Collectors.toSet());
+    }
+
+    // A clone presents its source deck's cards, so an edit there moves the clone in its owner's sequence:
+    // the owner's next delta then re-sends the clone's cards
+    private void touchClone(Deck clone) {
+        clone.setChangeSeq(changeSequenceService.next(clone.getUserId()));
+        deckRepository.save(clone);
+    }
+
+    private static Card takeVisible(Map<UUID, Card> visible, UUID cardId) {
+        Card card = visible.remove(cardId);
+        if (card == null) {
+            throw new RuntimeException("Card not found in deck");
+        }
+        return card;
+    }
+
+    private static void applyUpdate(Card card, CardUpdateRequest update) {
+        if (update.getFrontText() != null) {
+            card.setFrontText(update.getFrontText());
+        }
+        if (update.getBackText() != null) {
+            card.setBackText(update.getBackText());
+        }
+        if (update.getImageUrl() != null) {
+            card.setImageUrl(update.getImageUrl().isBlank() ? null : update.getImageUrl());
+        }
+    }
+
+    private static Card copyCard(Card card, UUID deckId, long changeSeq) {
+        Card copy = new Card();
+        copy.setDeckId(deckId);
+        copy.setFrontText(card.getFrontText());
+        copy.setBackText(card.getBackText());
+        copy.setImageUrl(card.getImageUrl());
+        copy.setChangeSeq(changeSeq);
+        return copy;
+    }
+
+    private static <T> List<T> nullToEmpty(List<T> list) {
+        return list != null ? list : List.of();
+    }
+
+    @Transactional
+    public void setShared(UUID deckId, UUID userId, boolean shared) {
+        Deck deck = deckRepository.findById(deckId)
+                .orElseThrow(() -> new RuntimeException("Deck not found"));
+
+        if (!deckContentService.isOwner(deck, userId)) {
+            throw new RuntimeException("Access denied");
+        }
+
+        deck.setShared(shared);
+        deck.setChangeSeq(changeSequenceService.next(userId));
+        deckRepository.save(deck);
+
+        eventPublisher.publishEvent(new UserDataChangedEvent(userId, UserDataChangedEvent.Kind.DECK_UPDATED, deckId));
+    }
+
+    @Transactional
+    @Workload(Workload.Pool.BULK)
     public void deleteDeck(UUID deckId, UUID userId) {
         Deck deck = deckRepository.findById(deckId)
                 .orElseThrow(() -> new RuntimeException("Deck not found"));
 
-        if (!deck.getUserId().equals(userId)) {
+        if (!deckContentService.isOwner(deck, userId)) {
             throw new RuntimeException("Access denied");
         }
+        // Restored first so archived progress gets deleted and tombstoned like live progress
+        progressArchiveService.restore(userId, deck);
+
+        long changeSeq = changeSequenceService.next(userId);
 
         // Delete progress records
-        List<Card> cards = cardRepository.findByDeckId(deckId);
+        List<Card> cards = deckContentService.getCards(deck);
         cards.forEach(card -> {
             cardProgressRepository.findByUserIdAndCardId(userId, card.getId())
-                    .ifPresent(cardProgressRepository::delete);
+                    .ifPresent(progress -> {
+                        changeSequenceService.recordDeletion(userId, Tombstone.EntityType.PROGRESS, progress.getCardId(), changeSeq);
+                        cardProgressRepository.delete(progress);
+                    });
+            changeSequenceService.recordDeletion(userId, Tombstone.EntityType.CARD, card.getId(), changeSeq);
         });
+        changeSequenceService.recordDeletion(userId, Tombstone.EntityType.DECK, deckId, changeSeq);
+
+        if (deckRepository.existsBySourceDeckId(deckId)) {
+            // Clones still read these cards: hide the deck from its owner instead of deleting it
+            deck.setRetired(true);
+            deck.setShared(false);
+            deckRepository.save(deck);
+        } else {
+            // Delete cards
+            cardRepository.deleteByDeckId(deckId);
 
-        // Delete cards
-        cardRepository.deleteByDeckId(deckId);
+            // Delete deck
+            deckRepository.delete(deck);
 
-        // Delete deck
-        deckRepository.delete(deck);
+            // The last clone of a retired deck releases it
+            if (deck.getSourceDeckId() != null) {
+                deckRepository.findById(deck.getSourceDeckId())
+                        .filter(source -> Boolean.TRUE.equals(source.getRetired()))
+                        .filter(source -> !deckRepository.existsBySourceDeckId(source.getId()))
+                        .ifPresent(source -> {
+                            cardRepository.deleteByDeckId(source.getId());
+                            deckRepository.delete(source);
+                        });
+            }
+        }
+
+        eventPublisher.publishEvent(new UserDataChangedEvent(userId, UserDataChangedEvent.Kind.DECK_DELETED, deckId));
     }
 }
-
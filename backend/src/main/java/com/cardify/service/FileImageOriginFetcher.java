@@ -0,0 +1,40 @@
+package com.cardify.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Local stand-in for the HTTP origin: resolves the path of any image URL against
+ * a directory on disk, so tests and offline development never leave the machine.
+ */
+@Component
+@ConditionalOnProperty(name = "images.origin", havingValue = "file")
+public class FileImageOriginFetcher implements ImageOriginFetcher {
+
+    private final Path originDir;
+
+    public FileImageOriginFetcher(@Value("${images.origin-dir:./image-origin}") String originDir) {
+        this.originDir = Paths.get(originDir).toAbsolutePath().normalize();
+    }
+
+    @Override
+    public byte[] fetch(String url, int maxBytes) throws IOException {
+        String path = URI.create(url).getPath();
+        Path file = originDir.resolve(path.startsWith("/") ? path.substring(1) : path).normalize();
+        if (!file.startsWith(originDir) || !Files.isRegularFile(file)) {
+            throw new IOException("Image not found: " + url);
+        }
+
+        try (InputStream in = Files.newInputStream(file)) {
+            return HttpImageOriginFetcher.readLimited(in, maxBytes);
+        }
+    }
+}
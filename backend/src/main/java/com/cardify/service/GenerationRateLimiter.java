@@ -0,0 +1,79 @@
+package com.cardify.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class GenerationRateLimiter {
+
+    private static final int MAX_TRACKED_USERS = 10_000;
+
+    private final int userCapacity;
+    private final int userRefillPerMinute;
+    private final long maxWaitNanos;
+    private final TokenBucket globalBucket;
+    private final Map<UUID, TokenBucket> userBuckets = new ConcurrentHashMap<>();
+
+    public GenerationRateLimiter(
+            @Value("${generation.rate-limit.user.capacity:5}") int userCapacity,
+            @Value("${generation.rate-limit.user.refill-per-minute:10}") int userRefillPerMinute,
+            @Value("${generation.rate-limit.global.capacity:50}") int globalCapacity,
+            @Value("${generation.rate-limit.global.refill-per-minute:300}") int globalRefillPerMinute,
+            @Value("${generation.rate-limit.max-wait-ms:2000}") long maxWaitMs) {
+        this.userCapacity = userCapacity;
+        this.userRefillPerMinute = userRefillPerMinute;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+        this.globalBucket = new TokenBucket(globalCapacity, globalRefillPerMinute);
+    }
+
+    /**
+     * Takes a generation permit for the user, waiting up to the configured bound
+     * for a token to refill. Throws RateLimitExceededException when the wait would
+     * exceed that bound.
+     */
+    public void acquire(UUID userId) {
+        long deadline = System.nanoTime() + maxWaitNanos;
+        TokenBucket userBucket = bucketFor(userId);
+
+        awaitToken(userBucket, deadline);
+        try {
+            awaitToken(globalBucket, deadline);
+        } catch (RuntimeException e) {
+            userBucket.refund();
+            throw e;
+        }
+    }
+
+    private void awaitToken(TokenBucket bucket, long deadline) {
+        while (true) {
+            long now = System.nanoTime();
+            long waitNanos = bucket.tryAcquire(now);
+            if (waitNanos == 0) {
+                return;
+            }
+            if (now + waitNanos > deadline) {
+                throw new RateLimitExceededException(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L)));
+            }
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RateLimitExceededException(1);
+            }
+        }
+    }
+
+    private TokenBucket bucketFor(UUID userId) {
+        if (userBuckets.size() > MAX_TRACKED_USERS) {
+            // Full buckets carry no state worth keeping
+            long now = System.nanoTime();
+            userBuckets.values().removeIf(bucket -> bucket.isFull(now));
+        }
+        return userBuckets.computeIfAbsent(userId, id -> new TokenBucket(userCapacity, userRefillPerMinute));
+    }
+}
@@ -0,0 +1,138 @@
+package com.cardify.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Fetches images from user-supplied URLs. Only public http(s) hosts are reachable:
+ * every hop, including each redirect, is resolved and rejected if any of its
+ * addresses is loopback, private, link-local (cloud metadata), wildcard or multicast.
+ */
+@Component
+@ConditionalOnProperty(name = "images.origin", havingValue = "http", matchIfMissing = true)
+public class HttpImageOriginFetcher implements ImageOriginFetcher {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+    private static final int MAX_REDIRECTS = 5;
+
+    // Redirects are followed by hand so each target is validated before it is contacted
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(TIMEOUT)
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .build();
+
+    @Override
+    public byte[] fetch(String url, int maxBytes) throws IOException {
+        URI uri = URI.create(url);
+        for (int hop = 0; hop <= MAX_REDIRECTS; hop++) {
+            validate(uri);
+
+            HttpRequest request = HttpRequest.newBuilder(uri).timeout(TIMEOUT).GET().build();
+            HttpResponse<InputStream> response;
+            try {
+                response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Image fetch interrupted", e);
+            }
+
+            try (InputStream body = response.body()) {
+                int status = response.statusCode();
+                if (status >= 300 && status < 400) {
+                    String location = response.headers().firstValue("Location")
+                            .orElseThrow(() -> new IOException("Redirect without Location header"));
+                    uri = uri.resolve(location);
+                    continue;
+                }
+                if (status != 200) {
+                    throw new IOException("Image fetch failed with status " + status);
+                }
+                return readLimited(body, maxBytes);
+            }
+        }
+        throw new IOException("Too many redirects fetching image");
+    }
+
+    static void validate(URI uri) throws IOException {
+        if (!"http".equalsIgnoreCase(uri.getScheme()) && !"https".equalsIgnoreCase(uri.getScheme())) {
+            throw new IOException("Unsupported image URL scheme: " + uri.getScheme());
+        }
+        if (uri.getHost() == null || uri.getUserInfo() != null) {
+            throw new IOException("Unsupported image URL: " + uri);
+        }
+
+        InetAddress[] addresses;
+        try {
+            addresses = InetAddress.getAllByName(uri.getHost());
+        } catch (UnknownHostException e) {
+            throw new IOException("Unknown image host: " + uri.getHost(), e);
+        }
+        for (InetAddress address : addresses) {
+            if (!isPublic(address)) {
+                throw new IOException("Image host is not publicly routable: " + uri.getHost());
+            }
+        }
+    }
+
+    static boolean isPublic(InetAddress address) {
+        if (address.isLoopbackAddress() || address.isSiteLocalAddress() || address.isLinkLocalAddress()
+                || address.isAnyLocalAddress() || address.isMulticastAddress()) {
+            return false;
+        }
+        byte[] bytes = address.getAddress();
+        if (address instanceof Inet6Address) {
+            // Unique local fc00::/7, which isSiteLocalAddress (fec0::/10) does not cover
+            if ((bytes[0] & 0xfe) == 0xfc) {
+                return false;
+            }
+            // IPv4-mapped ::ffff:a.b.c.d is checked as the IPv4 address it carries
+            if (isIpv4Mapped(bytes)) {
+                try {
+                    return isPublic(InetAddress.getByAddress(Arrays.copyOfRange(bytes, 12, 16)));
+                } catch (UnknownHostException e) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        // 0.0.0.0/8 and carrier-grade NAT 100.64.0.0/10
+        int first = bytes[0] & 0xff;
+        int second = bytes[1] & 0xff;
+        return first != 0 && !(first == 100 && second >= 64 && second < 128);
+    }
+
+    private static boolean isIpv4Mapped(byte[] bytes) {
+        for (int i = 0; i < 10; i++) {
+            if (bytes[i] != 0) {
+                return false;
+            }
+        }
+        return (bytes[10] & 0xff) == 0xff && (bytes[11] & 0xff) == 0xff;
+    }
+
+    static byte[] readLimited(InputStream in, int maxBytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            if (out.size() + read > maxBytes) {
+                throw new IOException("Image exceeds " + maxBytes + " bytes");
+            }
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+}
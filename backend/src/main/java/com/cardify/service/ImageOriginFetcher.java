@@ -0,0 +1,11 @@
+package com.cardify.service;
+
+import java.io.IOException;
+
+/**
+ * Fetches the original bytes of an image from wherever its URL points.
+ */
+public interface ImageOriginFetcher {
+
+    byte[] fetch(String url, int maxBytes) throws IOException;
+}
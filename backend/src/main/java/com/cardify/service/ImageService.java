@@ -0,0 +1,294 @@
+package com.cardify.service;
+
+import com.cardify.dto.CardRequest;
+import com.cardify.dto.ImageDto;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Content-addressed image store. Each image is kept once under the SHA-256 of its
+ * bytes together with pre-rendered thumbnails, so the files never change and can be
+ * cached by clients forever.
+ */
+@Service
+public class ImageService {
+
+    public static final String URL_PREFIX = "/api/images/";
+    public static final String ORIGINAL = "original";
+
+    private static final Pattern IMAGE_ID = Pattern.compile("[0-9a-f]{64}");
+
+    private final ImageOriginFetcher originFetcher;
+    private final Path storageDir;
+    private final List<Integer> thumbnailSizes;
+    private final int maxBytes;
+    private final long maxPixels;
+    // Source URL to image id, bounded: a miss only costs a re-fetch that resolves to the same id
+    private final Map<String, String> ingestedUrls;
+    private final ExecutorService localizeExecutor;
+    private final long localizeTimeoutMs;
+
+    public ImageService(ImageOriginFetcher originFetcher,
+                        @Value("${images.storage-dir:./image-store}") String storageDir,
+                        @Value("${images.thumbnail-sizes:128,512}") List<Integer> thumbnailSizes,
+                        @Value("${images.max-bytes:5242880}") int maxBytes,
+                        @Value("${images.max-pixels:25000000}") long maxPixels,
+                        @Value("${images.url-cache-size:10000}") int urlCacheSize,
+                        @Value("${images.localize-threads:8}") int localizeThreads,
+                        @Value("${images.localize-timeout-ms:10000}") long localizeTimeoutMs) {
+        this.originFetcher = originFetcher;
+        this.storageDir = Paths.get(storageDir).toAbsolutePath().normalize();
+        this.thumbnailSizes = thumbnailSizes;
+        this.maxBytes = maxBytes;
+        this.maxPixels = maxPixels;
+        this.ingestedUrls = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > urlCacheSize;
+            }
+        });
+        this.localizeExecutor = Executors.newFixedThreadPool(localizeThreads);
+        this.localizeTimeoutMs = localizeTimeoutMs;
+    }
+
+    public ImageDto ingest(byte[] data) throws IOException {
+        if (data.length > maxBytes) {
+            throw new IOException("Image exceeds " + maxBytes + " bytes");
+        }
+
+        String id = sha256(data);
+        Path dir = imageDir(id);
+        if (findVariant(dir, ORIGINAL).isEmpty()) {
+            ImageReader reader = null;
+            BufferedImage image;
+            String format;
+            try (ImageInputStream in = ImageIO.createImageInputStream(new ByteArrayInputStream(data))) {
+                Iterator<ImageReader> readers = in != null ? ImageIO.getImageReaders(in) : null;
+                if (readers == null || !readers.hasNext()) {
+                    throw new IOException("Unsupported image format");
+                }
+                reader = readers.next();
+                reader.setInput(in, true, true);
+
+                // Dimensions come from the header; a tiny file can declare a huge canvas
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > maxPixels) {
+                    throw new IOException("Image exceeds " + maxPixels + " pixels");
+                }
+                format = reader.getFormatName().toLowerCase();
+                image = reader.read(0);
+            } finally {
+                if (reader != null) {
+                    reader.dispose();
+                }
+            }
+            if ("jpeg".equals(format)) {
+                format = "jpg";
+            }
+
+            Files.createDirectories(dir);
+            for (int size : thumbnailSizes) {
+                writeThumbnail(image, size, dir);
+            }
+            // The original is written last, so its presence marks a complete entry
+            writeAtomically(dir.resolve(ORIGINAL + "." + format), out -> out.write(data));
+        }
+
+        return new ImageDto(id, URL_PREFIX + id, thumbnailSizes);
+    }
+
+    public ImageDto ingestFromUrl(String url) throws IOException {
+        String known = ingestedUrls.get(url);
+        if (known != null && findVariant(imageDir(known), ORIGINAL).isPresent()) {
+            return new ImageDto(known, URL_PREFIX + known, thumbnailSizes);
+        }
+
+        ImageDto image = ingest(originFetcher.fetch(url, maxBytes));
+        ingestedUrls.put(url, image.getId());
+        return image;
+    }
+
+    /**
+     * Replaces external image URLs on the given cards with URLs of the local copy.
+     * Images that cannot be fetched keep their original URL.
+     */
+    public void localizeImages(List<CardRequest> cards) {
+        List<String> urls = localizeImageUrls(cards.stream().map(CardRequest::getImageUrl).collect(Collectors.toList()));
+        for (int i = 0; i < cards.size(); i++) {
+            cards.get(i).setImageUrl(urls.get(i));
+        }
+    }
+
+    /**
+     * Local copies of the given URLs, in the same order. The images are fetched in
+     * parallel on a bounded pool, each distinct URL once, and all within
+     * images.localize-timeout-ms: what is not done by then keeps its original URL.
+     */
+    public List<String> localizeImageUrls(List<String> urls) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(localizeTimeoutMs);
+        Map<String, Future<String>> fetches = new LinkedHashMap<>();
+        for (String url : urls) {
+            if (url != null && !url.isBlank() && !url.startsWith(URL_PREFIX)) {
+                fetches.computeIfAbsent(url, external -> localizeExecutor.submit(() -> localizeImageUrl(external)));
+            }
+        }
+
+        Map<String, String> localized = new LinkedHashMap<>();
+        for (Map.Entry<String, Future<String>> fetch : fetches.entrySet()) {
+            localized.put(fetch.getKey(), await(fetch.getValue(), deadline, fetch.getKey()));
+        }
+        List<String> result = new ArrayList<>(urls.size());
+        for (String url : urls) {
+            result.add(localized.getOrDefault(url, url));
+        }
+        return result;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        localizeExecutor.shutdownNow();
+    }
+
+    private static String await(Future<String> fetch, long deadline, String fallback) {
+        try {
+            return fetch.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            fetch.cancel(true);
+            return fallback;
+        } catch (ExecutionException e) {
+            return fallback;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fetch.cancel(true);
+            return fallback;
+        }
+    }
+
+    // Returns the URL of the local copy, or the given URL if it is already local or cannot be fetched
+    private String localizeImageUrl(String url) {
+        if (url == null || url.isBlank() || url.startsWith(URL_PREFIX)) {
+            return url;
+        }
+        try {
+            return ingestFromUrl(url).getUrl();
+        } catch (IOException | IllegalArgumentException e) {
+            return url;
+        }
+    }
+
+    public Optional<Path> resolve(String id, String size) {
+        if (!IMAGE_ID.matcher(id).matches()) {
+            return Optional.empty();
+        }
+        String variant = size == null || size.isBlank() ? ORIGINAL : size;
+        if (!ORIGINAL.equals(variant) && !thumbnailSizes.contains(parseSize(variant))) {
+            return Optional.empty();
+        }
+        return findVariant(imageDir(id), variant);
+    }
+
+    private void writeThumbnail(BufferedImage image, int size, Path dir) throws IOException {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        double scale = Math.min(1.0, (double) size / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * scale));
+        int targetHeight = Math.max(1, (int) Math.round(height * scale));
+
+        boolean alpha = image.getColorModel().hasAlpha();
+        BufferedImage thumbnail = new BufferedImage(targetWidth, targetHeight,
+                alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = thumbnail.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(image, 0, 0, targetWidth, targetHeight, null);
+        } finally {
+            graphics.dispose();
+        }
+
+        String format = alpha ? "png" : "jpg";
+        writeAtomically(dir.resolve(size + "." + format), out -> ImageIO.write(thumbnail, alpha ? "png" : "jpeg", out));
+    }
+
+    private void writeAtomically(Path target, IoWriter writer) throws IOException {
+        Path temp = Files.createTempFile(target.getParent(), ".ingest", ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                writer.write(out);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private Optional<Path> findVariant(Path dir, String variant) {
+        if (!Files.isDirectory(dir)) {
+            return Optional.empty();
+        }
+        try (var files = Files.list(dir)) {
+            return files.filter(file -> file.getFileName().toString().startsWith(variant + "."))
+                    .findFirst();
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    private Path imageDir(String id) {
+        return storageDir.resolve(id.substring(0, 2)).resolve(id);
+    }
+
+    private static int parseSize(String size) {
+        try {
+            return Integer.parseInt(size);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static String sha256(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface IoWriter {
+        void write(OutputStream out) throws IOException;
+    }
+}
@@ -0,0 +1,56 @@
+package com.cardify.service;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Carries cache invalidations to every node. Publishing joins the current
+ * transaction: nothing is delivered if it rolls back. The publishing node
+ * evicts its own caches right after commit without waiting for the transport.
+ */
+public abstract class InvalidationBus {
+
+    private final ObjectProvider<InvalidationListener> listeners;
+
+    protected InvalidationBus(ObjectProvider<InvalidationListener> listeners) {
+        this.listeners = listeners;
+    }
+
+    public void publish(CacheInvalidation invalidation) {
+        send(invalidation);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatch(invalidation);
+                }
+            });
+        } else {
+            dispatch(invalidation);
+        }
+    }
+
+    // Sends the invalidation to the other nodes within the current transaction
+    protected abstract void send(CacheInvalidation invalidation);
+
+    protected void dispatch(CacheInvalidation invalidation) {
+        listeners.forEach(listener -> {
+            try {
+                listener.onInvalidation(invalidation);
+            } catch (RuntimeException e) {
+                System.err.println("Cache invalidation listener failed: " + e.getMessage());
+            }
+        });
+    }
+
+    protected void dispatchAll() {
+        listeners.forEach(listener -> {
+            try {
+                listener.onInvalidateAll();
+            } catch (RuntimeException e) {
+                System.err.println("Cache invalidation listener failed: " + e.getMessage());
+            }
+        });
+    }
+}
@@ -0,0 +1,15 @@
+package com.cardify.service;
+
+/**
+ * Implemented by in-process caches that must be evicted when data changes on any node.
+ */
+public interface InvalidationListener {
+
+    void onInvalidation(CacheInvalidation invalidation);
+
+    /**
+     * Called when invalidations may have been missed, e.g. after a reconnect that
+     * could not be replayed completely. Caches should drop everything.
+     */
+    void onInvalidateAll();
+}
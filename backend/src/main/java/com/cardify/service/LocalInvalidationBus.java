@@ -0,0 +1,23 @@
+package com.cardify.service;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-JVM stand-in for single-node deployments, H2 and tests: invalidations only
+ * reach the caches of this node.
+ */
+@Component
+@ConditionalOnProperty(name = "cache.invalidation.transport", havingValue = "local", matchIfMissing = true)
+public class LocalInvalidationBus extends InvalidationBus {
+
+    public LocalInvalidationBus(ObjectProvider<InvalidationListener> listeners) {
+        super(listeners);
+    }
+
+    @Override
+    protected void send(CacheInvalidation invalidation) {
+        // Nothing to send: the afterCommit dispatch is the whole delivery
+    }
+}
@@ -0,0 +1,222 @@
+package com.cardify.service;
+
+import com.cardify.config.Workload;
+import com.cardify.config.WorkloadRoutingDataSource;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Invalidation bus over PostgreSQL. Each invalidation is inserted into the
+ * cache_invalidations outbox and announced with NOTIFY in the writing transaction,
+ * so other nodes hear of it only once it commits. Notifications are just a wake-up:
+ * every node reads the outbox by seq on its own connection, which also replays
+ * whatever it missed while disconnected.
+ *
+ * Seq values are taken before commit, so a slow transaction can commit below the
+ * highest seq already read. Every seq skipped over is remembered as a gap and read
+ * again on each poll until it shows up. A gap still open after
+ * cache.invalidation.gap-timeout-ms may be a rollback or a transaction that is
+ * still running; it cannot be told apart, so it costs a full invalidation.
+ */
+@Component
+@ConditionalOnProperty(name = "cache.invalidation.transport", havingValue = "postgres")
+public class PostgresInvalidationBus extends InvalidationBus {
+
+    private static final String CHANNEL = "cache_invalidation";
+
+    // Beyond this many open gaps (a seq jump after a crash, say) they are dropped for a full invalidation
+    private static final int MAX_GAPS = 10_000;
+    // Seqs below the starting point that may still be in flight when the node starts
+    private static final int STARTUP_WINDOW = 256;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String url;
+    private final String username;
+    private final String password;
+    private final long pollTimeoutMs;
+    private final long reconnectDelayMs;
+    private final long retentionMinutes;
+    private final long gapTimeoutMs;
+    private final ScheduledExecutorService pruneExecutor = Executors.newSingleThreadScheduledExecutor();
+    // Missing seqs below lastSeq, with the time each was first missed; listener thread only
+    private final Map<Long, Long> gaps = new LinkedHashMap<>();
+    private volatile boolean running;
+    private Thread listenerThread;
+    private long lastSeq;
+
+    public PostgresInvalidationBus(ObjectProvider<InvalidationListener> listeners, JdbcTemplate jdbcTemplate,
+                                   @Value("${spring.datasource.url}") String url,
+                                   @Value("${spring.datasource.username}") String username,
+                                   @Value("${spring.datasource.password}") String password,
+                                   @Value("${cache.invalidation.poll-timeout-ms:5000}") long pollTimeoutMs,
+                                   @Value("${cache.invalidation.reconnect-delay-ms:2000}") long reconnectDelayMs,
+                                   @Value("${cache.invalidation.retention-minutes:60}") long retentionMinutes,
+                                   @Value("${cache.invalidation.gap-timeout-ms:600000}") long gapTimeoutMs) {
+        super(listeners);
+        this.jdbcTemplate = jdbcTemplate;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.pollTimeoutMs = pollTimeoutMs;
+        this.reconnectDelayMs = reconnectDelayMs;
+        this.retentionMinutes = retentionMinutes;
+        this.gapTimeoutMs = gapTimeoutMs;
+    }
+
+    @PostConstruct
+    public void start() {
+        Long maxSeq = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(seq), 0) FROM cache_invalidations", Long.class);
+        lastSeq = maxSeq != null ? maxSeq : 0L;
+        // Just-started caches are empty, but transactions already running may still commit below lastSeq.
+        // Seqs under the oldest row left are more likely pruned than in flight, so they are not gaps
+        List<Long> recent = jdbcTemplate.queryForList("SELECT seq FROM cache_invalidations WHERE seq > ? ORDER BY seq",
+                Long.class, lastSeq - STARTUP_WINDOW);
+        if (!recent.isEmpty()) {
+            long now = System.currentTimeMillis();
+            for (long seq = recent.get(0) + 1; seq < lastSeq; seq++) {
+                gaps.put(seq, now);
+            }
+            recent.forEach(gaps::remove);
+        }
+
+        running = true;
+        listenerThread = new Thread(this::listen, "cache-invalidation-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+
+        pruneExecutor.scheduleAtFixedRate(this::prune, retentionMinutes, Math.max(1, retentionMinutes / 4), TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        pruneExecutor.shutdownNow();
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+
+    @Override
+    protected void send(CacheInvalidation invalidation) {
+        jdbcTemplate.query("WITH ins AS (INSERT INTO cache_invalidations (entity_type, user_id, entity_id)"
+                        + " VALUES (?, ?, ?) RETURNING seq)"
+                        + " SELECT pg_notify('" + CHANNEL + "', seq::text) FROM ins",
+                rs -> { },
+                invalidation.getEntityType().name(), invalidation.getUserId(), invalidation.getEntityId());
+    }
+
+    private void listen() {
+        long disconnectedSince = 0;
+        while (running) {
+            // A dedicated connection outside the pool: LISTEN holds it for the life of the node
+            try (Connection connection = DriverManager.getConnection(url, username, password)) {
+                connection.setAutoCommit(true);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+
+                // Outbox rows outlive an outage only up to the retention period
+                if (disconnectedSince > 0 && System.currentTimeMillis() - disconnectedSince
+                        > TimeUnit.MINUTES.toMillis(retentionMinutes) / 2) {
+                    dispatchAll();
+                }
+                disconnectedSince = 0;
+                replay(connection);
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications((int) pollTimeoutMs);
+                    // Open gaps are re-read on every poll so they can time out without traffic
+                    if ((notifications != null && notifications.length > 0) || !gaps.isEmpty()) {
+                        replay(connection);
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                if (disconnectedSince == 0) {
+                    disconnectedSince = System.currentTimeMillis();
+                }
+                System.err.println("Cache invalidation listener disconnected: " + e.getMessage());
+                try {
+                    Thread.sleep(reconnectDelayMs);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void replay(Connection connection) throws SQLException {
+        long now = System.currentTimeMillis();
+        boolean overflow = false;
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT seq, entity_type, user_id, entity_id FROM cache_invalidations"
+                        + " WHERE seq > ? OR seq = ANY (?) ORDER BY seq")) {
+            statement.setLong(1, lastSeq);
+            statement.setArray(2, connection.createArrayOf("bigint", gaps.keySet().toArray()));
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    long seq = rs.getLong("seq");
+                    if (seq > lastSeq) {
+                        if (seq - lastSeq - 1 > MAX_GAPS - gaps.size()) {
+                            overflow = true;
+                        } else {
+                            for (long missing = lastSeq + 1; missing < seq; missing++) {
+                                gaps.put(missing, now);
+                            }
+                        }
+                        lastSeq = seq;
+                    } else {
+                        gaps.remove(seq);
+                    }
+                    dispatch(new CacheInvalidation(
+                            CacheInvalidation.EntityType.valueOf(rs.getString("entity_type")),
+                            rs.getObject("user_id", UUID.class),
+                            rs.getObject("entity_id", UUID.class)));
+                }
+            }
+        }
+
+        long cutoff = now - gapTimeoutMs;
+        if (gaps.values().removeIf(missedAt -> missedAt < cutoff) || overflow) {
+            if (overflow) {
+                gaps.clear();
+            }
+            dispatchAll();
+        }
+    }
+
+    private void prune() {
+        try {
+            WorkloadRoutingDataSource.run(Workload.Pool.BACKGROUND, () ->
+                    jdbcTemplate.update("DELETE FROM cache_invalidations WHERE created_at < now() - make_interval(mins => ?)",
+                            (int) retentionMinutes));
+        } catch (RuntimeException e) {
+            System.err.println("Failed to prune cache invalidations: " + e.getMessage());
+        }
+    }
+}
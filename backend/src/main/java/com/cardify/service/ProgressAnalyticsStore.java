@@ -0,0 +1,249 @@
+package com.cardify.service;
+
+import com.cardify.dto.CardProgressDto;
+import com.cardify.entity.CardProgress;
+import com.cardify.repository.CardProgressRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Columnar in-memory copy of each active user's card progress, used for counts and
+ * distributions instead of scanning progress rows. Per user, every card with a
+ * progress row gets a slot: status is packed at 2 bits per card, counters and the
+ * last review time live in primitive arrays.
+ *
+ * A user's columns are loaded on first use. Reviews only mark them dirty; the next
+ * read pulls the rows whose change sequence is past the highest one seen, which is
+ * exact because a user's writes are serialized on their users row. Changes that
+ * move or delete progress rows (deck edits and deletes) drop the user's columns.
+ */
+@Component
+public class ProgressAnalyticsStore implements InvalidationListener {
+
+    // Lower bounds of the reviews-per-card histogram buckets
+    public static final int[] REVIEW_BUCKETS = {0, 1, 2, 4, 8, 16, 32};
+
+    private static final int STATUS_COUNT = CardProgress.ProgressStatus.values().length;
+
+    private final CardProgressRepository cardProgressRepository;
+    private final Map<UUID, UserColumns> users;
+    // Bumped whenever progress rows may have moved or disappeared; a load that overlaps one is not kept
+    private final AtomicLong structuralChanges = new AtomicLong();
+
+    public ProgressAnalyticsStore(CardProgressRepository cardProgressRepository,
+                                  @Value("${analytics.max-users:10000}") int maxUsers) {
+        this.cardProgressRepository = cardProgressRepository;
+        this.users = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, UserColumns> eldest) {
+                return size() > maxUsers;
+            }
+        });
+    }
+
+    /**
+     * Card counts per status, indexed by ProgressStatus ordinal. Cards without a
+     * progress row count as NEW.
+     */
+    public long[] countByStatus(UUID userId, Collection<UUID> cardIds) {
+        UserColumns columns = columns(userId);
+        long[] counts = new long[STATUS_COUNT];
+        synchronized (columns) {
+            for (UUID cardId : cardIds) {
+                Integer slot = columns.slots.get(cardId);
+                counts[slot != null ? columns.status(slot) : CardProgress.ProgressStatus.NEW.ordinal()]++;
+            }
+        }
+        return counts;
+    }
+
+    // Counts over every card the user has a progress row for
+    public long[] countByStatus(UUID userId) {
+        UserColumns columns = columns(userId);
+        long[] counts = new long[STATUS_COUNT];
+        synchronized (columns) {
+            for (int slot = 0; slot < columns.size; slot++) {
+                counts[columns.status(slot)]++;
+            }
+        }
+        return counts;
+    }
+
+    public long countReviewedSince(UUID userId, LocalDateTime since) {
+        long threshold = toEpochSecond(since);
+        UserColumns columns = columns(userId);
+        long count = 0;
+        synchronized (columns) {
+            for (int slot = 0; slot < columns.size; slot++) {
+                if (columns.lastReviewed[slot] >= threshold) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    // Number of cards per REVIEW_BUCKETS bucket; cards without a progress row fall in the first
+    public long[] reviewHistogram(UUID userId, Collection<UUID> cardIds) {
+        UserColumns columns = columns(userId);
+        long[] buckets = new long[REVIEW_BUCKETS.length];
+        synchronized (columns) {
+            for (UUID cardId : cardIds) {
+                Integer slot = columns.slots.get(cardId);
+                buckets[bucketOf(slot != null ? columns.timesReviewed[slot] : 0)]++;
+            }
+        }
+        return buckets;
+    }
+
+    public Map<UUID, CardProgressDto> progressOf(UUID userId, Collection<UUID> cardIds) {
+        UserColumns columns = columns(userId);
+        Map<UUID, CardProgressDto> progress = new HashMap<>();
+        synchronized (columns) {
+            for (UUID cardId : cardIds) {
+                Integer slot = columns.slots.get(cardId);
+                progress.put(cardId, slot == null
+                        ? new CardProgressDto(CardProgress.ProgressStatus.NEW, 0, 0, 0)
+                        : new CardProgressDto(CardProgress.ProgressStatus.values()[columns.status(slot)],
+                                columns.timesReviewed[slot], columns.timesMastered[slot], columns.timesStruggled[slot]));
+            }
+        }
+        return progress;
+    }
+
+    @Override
+    public void onInvalidation(CacheInvalidation invalidation) {
+        if (invalidation.getEntityType() == CacheInvalidation.EntityType.PROGRESS) {
+            UserColumns columns = users.get(invalidation.getUserId());
+            if (columns != null) {
+                columns.dirty = true;
+            }
+        } else {
+            structuralChanges.incrementAndGet();
+            users.remove(invalidation.getUserId());
+        }
+    }
+
+    @Override
+    public void onInvalidateAll() {
+        structuralChanges.incrementAndGet();
+        users.clear();
+    }
+
+    private UserColumns columns(UUID userId) {
+        // Inside a transaction the rows may include uncommitted writes, so they must not be kept
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            UserColumns snapshot = new UserColumns();
+            snapshot.apply(cardProgressRepository.findByUserId(userId));
+            return snapshot;
+        }
+
+        UserColumns columns = users.get(userId);
+        if (columns == null) {
+            long changesBefore = structuralChanges.get();
+            columns = new UserColumns();
+            columns.apply(cardProgressRepository.findByUserId(userId));
+            // Reviews committed while loading are picked up by the first refresh
+            columns.dirty = true;
+            if (structuralChanges.get() == changesBefore) {
+                UserColumns existing = users.putIfAbsent(userId, columns);
+                if (existing != null) {
+                    columns = existing;
+                }
+            }
+        }
+
+        if (columns.dirty) {
+            synchronized (columns) {
+                if (columns.dirty) {
+                    // Cleared before the read, so a review committing meanwhile marks it again
+                    columns.dirty = false;
+                    columns.apply(cardProgressRepository.findByUserIdAndChangeSeqGreaterThan(userId, columns.maxChangeSeq));
+                }
+            }
+        }
+        return columns;
+    }
+
+    // Index into REVIEW_BUCKETS for a review count
+    public static int bucketOf(int timesReviewed) {
+        int bucket = 0;
+        while (bucket + 1 < REVIEW_BUCKETS.length && timesReviewed >= REVIEW_BUCKETS[bucket + 1]) {
+            bucket++;
+        }
+        return bucket;
+    }
+
+    // Progress times are zone-less local times; comparing them as UTC seconds keeps the order
+    private static long toEpochSecond(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static final class UserColumns {
+        private static final int SLOTS_PER_WORD = 32;
+
+        private final Map<UUID, Integer> slots = new HashMap<>();
+        private long[] statusBits = new long[1];
+        private int[] timesReviewed = new int[SLOTS_PER_WORD];
+        private int[] timesMastered = new int[SLOTS_PER_WORD];
+        private int[] timesStruggled = new int[SLOTS_PER_WORD];
+        private long[] lastReviewed = new long[SLOTS_PER_WORD];
+        private int size;
+        private long maxChangeSeq;
+        private volatile boolean dirty;
+
+        private synchronized void apply(List<CardProgress> rows) {
+            for (CardProgress row : rows) {
+                Integer slot = slots.get(row.getCardId());
+                if (slot == null) {
+                    slot = size++;
+                    ensureCapacity(size);
+                    slots.put(row.getCardId(), slot);
+                }
+                setStatus(slot, row.getStatus().ordinal());
+                timesReviewed[slot] = row.getTimesReviewed() != null ? row.getTimesReviewed() : 0;
+                timesMastered[slot] = row.getTimesMastered() != null ? row.getTimesMastered() : 0;
+                timesStruggled[slot] = row.getTimesStruggled() != null ? row.getTimesStruggled() : 0;
+                lastReviewed[slot] = row.getLastReviewedAt() != null ? toEpochSecond(row.getLastReviewedAt()) : Long.MIN_VALUE;
+                if (row.getChangeSeq() != null) {
+                    maxChangeSeq = Math.max(maxChangeSeq, row.getChangeSeq());
+                }
+            }
+        }
+
+        private int status(int slot) {
+            return (int) ((statusBits[slot / SLOTS_PER_WORD] >>> ((slot % SLOTS_PER_WORD) * 2)) & 3L);
+        }
+
+        private void setStatus(int slot, int status) {
+            int word = slot / SLOTS_PER_WORD;
+            int shift = (slot % SLOTS_PER_WORD) * 2;
+            statusBits[word] = (statusBits[word] & ~(3L << shift)) | ((long) status << shift);
+        }
+
+        private void ensureCapacity(int needed) {
+            if (needed <= timesReviewed.length) {
+                return;
+            }
+            int capacity = Math.max(needed, timesReviewed.length * 2);
+            statusBits = Arrays.copyOf(statusBits, (capacity + SLOTS_PER_WORD - 1) / SLOTS_PER_WORD);
+            timesReviewed = Arrays.copyOf(timesReviewed, capacity);
+            timesMastered = Arrays.copyOf(timesMastered, capacity);
+            timesStruggled = Arrays.copyOf(timesStruggled, capacity);
+            lastReviewed = Arrays.copyOf(lastReviewed, capacity);
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package com.cardify.service;
+
+import com.cardify.entity.CardProgress;
+import com.cardify.entity.Deck;
+import com.cardify.entity.ProgressArchive;
+import com.cardify.repository.CardProgressRepository;
+import com.cardify.repository.DeckRepository;
+import com.cardify.repository.ProgressArchiveRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cold tier for card progress. Archiving moves a deck owner's progress rows for
+ * the deck into one compressed card_progress_archive row; restoring moves them
+ * back. Both take the user's row lock (via the change sequence), which is the lock
+ * every review takes, so an archive never races a review of the same user.
+ *
+ * Any progress row found for an archived card was created after the archive was
+ * taken, so restoring adds the archived counters to it instead of overwriting it.
+ */
+@Service
+public class ProgressArchiveService {
+
+    private static final int FORMAT_VERSION = 1;
+    private static final long NONE = Long.MIN_VALUE;
+
+    private final DeckRepository deckRepository;
+    private final CardProgressRepository cardProgressRepository;
+    private final ProgressArchiveRepository progressArchiveRepository;
+    private final DeckContentService deckContentService;
+    private final ChangeSequenceService changeSequenceService;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ProgressArchiveService(DeckRepository deckRepository, CardProgressRepository cardProgressRepository,
+                                  ProgressArchiveRepository progressArchiveRepository,
+                                  DeckContentService deckContentService, ChangeSequenceService changeSequenceService,
+                                  TransactionTemplate transactionTemplate, ApplicationEventPublisher eventPublisher) {
+        this.deckRepository = deckRepository;
+        this.cardProgressRepository = cardProgressRepository;
+        this.progressArchiveRepository = progressArchiveRepository;
+        this.deckContentService = deckContentService;
+        this.changeSequenceService = changeSequenceService;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+    }
+
+    public List<UUID> findCandidates(LocalDateTime cutoff, int limit) {
+        return deckRepository.findArchiveCandidates(cutoff, PageRequest.of(0, limit));
+    }
+
+    /**
+     * Archives the owner's progress for the deck if none of it was reviewed since
+     * the cutoff. Returns the number of progress rows archived.
+     */
+    public int archive(UUID deckId, LocalDateTime cutoff) {
+        Integer archived = transactionTemplate.execute(status -> {
+            Deck deck = deckRepository.findById(deckId).orElse(null);
+            if (deck == null || Boolean.TRUE.equals(deck.getRetired())) {
+                return 0;
+            }
+            UUID userId = deck.getUserId();
+            changeSequenceService.next(userId);
+
+            // Re-checked under the user lock: a review may have landed since the candidate scan
+            if (progressArchiveRepository.findByDeckId(deckId).isPresent()) {
+                return 0;
+            }
+            List<UUID> cardIds = deckContentService.getCardIds(deck);
+            List<CardProgress> rows = cardProgressRepository.findByUserIdAndCardIdIn(userId, cardIds);
+            if (rows.isEmpty() || rows.stream().anyMatch(row ->
+                    row.getLastReviewedAt() != null && !row.getLastReviewedAt().isBefore(cutoff))) {
+                return 0;
+            }
+
+            progressArchiveRepository.save(toArchive(userId, deckId, rows));
+            cardProgressRepository.deleteByUserIdAndCardIdIn(userId,
+                    rows.stream().map(CardProgress::getCardId).collect(Collectors.toList()));
+            eventPublisher.publishEvent(new UserDataChangedEvent(userId, UserDataChangedEvent.Kind.PROGRESS_ARCHIVED, deckId));
+            return rows.size();
+        });
+        return archived != null ? archived : 0;
+    }
+
+    public void restore(UUID userId, Deck deck) {
+        restore(userId, deck.getSourceDeckId() != null ? List.of(deck.getId(), deck.getSourceDeckId()) : List.of(deck.getId()));
+    }
+
+    /**
+     * Restores the user's archived progress for the given decks, and for the user's
+     * other decks sharing cards with them. Joins the caller's transaction if there is one.
+     */
+    public void restore(UUID userId, Collection<UUID> deckIds) {
+        // Unarchived decks, the common case, cost one indexed lookup
+        if (progressArchiveRepository.findDeckIdsByUserIdAndDeckIds(userId, deckIds).isEmpty()) {
+            return;
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            long changeSeq = changeSequenceService.next(userId);
+            for (UUID deckId : progressArchiveRepository.findDeckIdsByUserIdAndDeckIds(userId, deckIds)) {
+                ProgressArchive archive = progressArchiveRepository.findByDeckId(deckId).orElse(null);
+                if (archive == null) {
+                    continue;
+                }
+                List<CardProgress> rows = readRows(archive);
+                Map<UUID, CardProgress> live = cardProgressRepository.findByUserIdAndCardIdIn(userId,
+                                rows.stream().map(CardProgress::getCardId).collect(Collectors.toList())).stream()
+                        .collect(Collectors.toMap(CardProgress::getCardId, Function.identity()));
+
+                List<CardProgress> toSave = new ArrayList<>();
+                for (CardProgress row : rows) {
+                    CardProgress current = live.get(row.getCardId());
+                    if (current == null) {
+                        current = row;
+                    } else {
+                        current.setTimesReviewed(current.getTimesReviewed() + row.getTimesReviewed());
+                        current.setTimesMastered(current.getTimesMastered() + row.getTimesMastered());
+                        current.setTimesStruggled(current.getTimesStruggled() + row.getTimesStruggled());
+                    }
+                    // A fresh sequence lets delta readers (sync, analytics) pick the rows up again
+                    current.setChangeSeq(changeSeq);
+                    toSave.add(current);
+                }
+                cardProgressRepository.saveAll(toSave);
+                progressArchiveRepository.deleteByDeckId(deckId);
+                eventPublisher.publishEvent(new UserDataChangedEvent(userId, UserDataChangedEvent.Kind.PROGRESS_RESTORED, deckId));
+            }
+        });
+    }
+
+    // Archive summaries of the user's decks, by deck id
+    public Map<UUID, ProgressArchive> getArchives(UUID userId) {
+        return progressArchiveRepository.findByUserId(userId).stream()
+                .collect(Collectors.toMap(ProgressArchive::getDeckId, Function.identity()));
+    }
+
+    /**
+     * Decodes an archive into detached progress rows (without ids). The payload is
+     * gzip over column blocks: card ids, statuses, the three counters, last review
+     * epoch seconds and change sequences, each written for all rows in turn.
+     */
+    public List<CardProgress> readRows(ProgressArchive archive) {
+        try (DataInputStream in = new DataInputStream(new GZIPInputStream(new ByteArrayInputStream(archive.getPayload())))) {
+            int version = in.readInt();
+            if (version != FORMAT_VERSION) {
+                throw new RuntimeException("Unsupported progress archive format " + version);
+            }
+            int count = in.readInt();
+            List<CardProgress> rows = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                CardProgress row = new CardProgress();
+                row.setUserId(archive.getUserId());
+                row.setCardId(new UUID(in.readLong(), in.readLong()));
+                rows.add(row);
+            }
+            CardProgress.ProgressStatus[] statuses = CardProgress.ProgressStatus.values();
+            for (CardProgress row : rows) {
+                row.setStatus(statuses[in.readByte()]);
+            }
+            for (CardProgress row : rows) {
+                row.setTimesReviewed(in.readInt());
+            }
+            for (CardProgress row : rows) {
+                row.setTimesMastered(in.readInt());
+            }
+            for (CardProgress row : rows) {
+                row.setTimesStruggled(in.readInt());
+            }
+            for (CardProgress row : rows) {
+                long lastReviewed = in.readLong();
+                row.setLastReviewedAt(lastReviewed == NONE ? null : LocalDateTime.ofEpochSecond(lastReviewed, 0, ZoneOffset.UTC));
+            }
+            for (CardProgress row : rows) {
+                long changeSeq = in.readLong();
+                row.setChangeSeq(changeSeq == NONE ? null : changeSeq);
+            }
+            return rows;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read progress archive for deck " + archive.getDeckId(), e);
+        }
+    }
+
+    private ProgressArchive toArchive(UUID userId, UUID deckId, List<CardProgress> rows) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(bytes))) {
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(rows.size());
+            for (CardProgress row : rows) {
+                out.writeLong(row.getCardId().getMostSignificantBits());
+                out.writeLong(row.getCardId().getLeastSignificantBits());
+            }
+            for (CardProgress row : rows) {
+                out.writeByte(row.getStatus().ordinal());
+            }
+            for (CardProgress row : rows) {
+                out.writeInt(row.getTimesReviewed());
+            }
+            for (CardProgress row : rows) {
+                out.writeInt(row.getTimesMastered());
+            }
+            for (CardProgress row : rows) {
+                out.writeInt(row.getTimesStruggled());
+            }
+            for (CardProgress row : rows) {
+                out.writeLong(row.getLastReviewedAt() != null ? row.getLastReviewedAt().toEpochSecond(ZoneOffset.UTC) : NONE);
+            }
+            for (CardProgress row : rows) {
+                out.writeLong(row.getChangeSeq() != null ? row.getChangeSeq() : NONE);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write progress archive for deck " + deckId, e);
+        }
+
+        int[] counts = new int[CardProgress.ProgressStatus.values().length];
+        rows.forEach(row -> counts[row.getStatus().ordinal()]++);
+
+        ProgressArchive archive = new ProgressArchive();
+        archive.setUserId(userId);
+        archive.setDeckId(deckId);
+        archive.setPayload(bytes.toByteArray());
+        archive.setCardCount(rows.size());
+        archive.setNewCount(counts[CardProgress.ProgressStatus.NEW.ordinal()]);
+        archive.setLearningCount(counts[CardProgress.ProgressStatus.LEARNING.ordinal()]);
+        archive.setMasteredCount(counts[CardProgress.ProgressStatus.MASTERED.ordinal()]);
+        archive.setStrugglingCount(counts[CardProgress.ProgressStatus.STRUGGLING.ordinal()]);
+        archive.setLastReviewedAt(rows.stream()
+                .map(CardProgress::getLastReviewedAt)
+                .filter(Objects::nonNull)
+                .max(LocalDateTime::compareTo)
+                .orElse(null));
+        return archive;
+    }
+}
@@ -0,0 +1,297 @@
+package com.cardify.service;
+
+import com.cardify.dto.CardDto;
+import com.cardify.dto.CardProgressDto;
+import com.cardify.dto.StudyAnswerRequest;
+import com.cardify.dto.StudySessionDto;
+import com.cardify.entity.Card;
+import com.cardify.entity.CardProgress;
+import com.cardify.entity.Deck;
+import com.cardify.repository.CardProgressRepository;
+import com.cardify.repository.CardRepository;
+import com.cardify.repository.DeckRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Server-side study sessions. Starting a session orders the deck's card ids once
+ * (struggling first, then new, learning and mastered) without loading card text;
+ * cards are then served in small chunks, with the following chunk prefetched in the
+ * background. Answers reorder the in-memory queue and are written in batches.
+ */
+@Service
+public class StudySessionService {
+
+    private final DeckRepository deckRepository;
+    private final CardRepository cardRepository;
+    private final CardProgressRepository cardProgressRepository;
+    private final DeckContentService deckContentService;
+    private final CardService cardService;
+    private final ProgressArchiveService progressArchiveService;
+    private final int chunkSize;
+    private final int maxChunkSize;
+    private final int flushBatchSize;
+    private final int requeueGap;
+    private final long idleTimeoutMs;
+    private final Map<UUID, StudySession> sessions = new ConcurrentHashMap<>();
+    private final ExecutorService prefetchExecutor;
+    private final ScheduledExecutorService sweepExecutor = Executors.newSingleThreadScheduledExecutor();
+
+    public StudySessionService(DeckRepository deckRepository, CardRepository cardRepository,
+                               CardProgressRepository cardProgressRepository, DeckContentService deckContentService,
+                               CardService cardService, ProgressArchiveService progressArchiveService,
+                               @Value("${study.session.chunk-size:20}") int chunkSize,
+                               @Value("${study.session.max-chunk-size:100}") int maxChunkSize,
+                               @Value("${study.session.flush-batch-size:10}") int flushBatchSize,
+                               @Value("${study.session.requeue-gap:5}") int requeueGap,
+                               @Value("${study.session.idle-timeout-minutes:30}") long idleTimeoutMinutes,
+                               @Value("${study.session.prefetch-threads:4}") int prefetchThreads) {
+        this.deckRepository = deckRepository;
+        this.cardRepository = cardRepository;
+        this.cardProgressRepository = cardProgressRepository;
+        this.deckContentService = deckContentService;
+        this.cardService = cardService;
+        this.progressArchiveService = progressArchiveService;
+        this.chunkSize = chunkSize;
+        this.maxChunkSize = maxChunkSize;
+        this.flushBatchSize = flushBatchSize;
+        this.requeueGap = requeueGap;
+        this.idleTimeoutMs = TimeUnit.MINUTES.toMillis(idleTimeoutMinutes);
+        this.prefetchExecutor = Executors.newFixedThreadPool(prefetchThreads);
+        sweepExecutor.scheduleAtFixedRate(this::expireIdleSessions, 1, 1, TimeUnit.MINUTES);
+    }
+
+    public StudySessionDto start(UUID deckId, UUID userId) {
+        Deck deck = deckRepository.findById(deckId)
+                .orElseThrow(() -> new RuntimeException("Deck not found"));
+
+        if (!deckContentService.isOwner(deck, userId)) {
+            throw new RuntimeException("Access denied");
+        }
+        progressArchiveService.restore(userId, deck);
+
+        List<UUID> cardIds = deckContentService.getCardIds(deck);
+        List<UUID> deckIds = deck.getSourceDeckId() != null ? List.of(deckId, deck.getSourceDeckId()) : List.of(deckId);
+        Map<UUID, CardProgress.ProgressStatus> statuses = cardProgressRepository.findByUserIdAndDeckIds(userId, deckIds)
+                .stream()
+                .collect(Collectors.toMap(CardProgress::getCardId, CardProgress::getStatus));
+
+        // Cards without a progress row are NEW
+        List<UUID> struggling = new ArrayList<>();
+        List<UUID> fresh = new ArrayList<>();
+        List<UUID> learning = new ArrayList<>();
+        List<UUID> mastered = new ArrayList<>();
+        for (UUID cardId : cardIds) {
+            CardProgress.ProgressStatus status = statuses.getOrDefault(cardId, CardProgress.ProgressStatus.NEW);
+            switch (status) {
+                case STRUGGLING -> struggling.add(cardId);
+                case LEARNING -> learning.add(cardId);
+                case MASTERED -> mastered.add(cardId);
+                default -> fresh.add(cardId);
+            }
+        }
+
+        StudySession session = new StudySession(UUID.randomUUID(), userId, deckId,
+                Stream.of(struggling, fresh, learning, mastered).flatMap(List::stream).collect(Collectors.toList()));
+        sessions.put(session.id, session);
+
+        synchronized (session) {
+            List<CardDto> firstChunk = takeChunk(session, chunkSize);
+            return toDto(session, firstChunk);
+        }
+    }
+
+    public StudySessionDto next(UUID sessionId, UUID userId, Integer size) {
+        StudySession session = getSession(sessionId, userId);
+        int count = size == null ? chunkSize : Math.max(1, Math.min(size, maxChunkSize));
+        synchronized (session) {
+            List<CardDto> chunk = takeChunk(session, count);
+            return toDto(session, chunk);
+        }
+    }
+
+    public StudySessionDto answer(UUID sessionId, UUID userId, StudyAnswerRequest request) {
+        StudySession session = getSession(sessionId, userId);
+        synchronized (session) {
+            if (!session.cardIds.contains(request.getCardId())) {
+                throw new RuntimeException("Card not in session");
+            }
+
+            session.pending.add(request);
+            session.answered++;
+
+            // Struggling cards come back a few cards later in the same session
+            if (request.getAction() == CardProgress.ProgressStatus.STRUGGLING) {
+                session.queue.remove(request.getCardId());
+                session.queue.add(Math.min(requeueGap, session.queue.size()), request.getCardId());
+            }
+
+            if (session.pending.size() >= flushBatchSize) {
+                flush(session);
+            }
+            return toDto(session, null);
+        }
+    }
+
+    public StudySessionDto end(UUID sessionId, UUID userId) {
+        StudySession session = getSession(sessionId, userId);
+        synchronized (session) {
+            flush(session);
+            sessions.remove(sessionId);
+            return toDto(session, null);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sweepExecutor.shutdownNow();
+        prefetchExecutor.shutdownNow();
+        for (StudySession session : sessions.values()) {
+            synchronized (session) {
+                flushQuietly(session);
+            }
+        }
+        sessions.clear();
+    }
+
+    private StudySession getSession(UUID sessionId, UUID userId) {
+        StudySession session = sessions.get(sessionId);
+        if (session == null || !session.userId.equals(userId)) {
+            throw new RuntimeException("Session not found");
+        }
+        session.lastAccess = System.currentTimeMillis();
+        return session;
+    }
+
+    private List<CardDto> takeChunk(StudySession session, int count) {
+        List<UUID> ids = new ArrayList<>();
+        while (ids.size() < count && !session.queue.isEmpty()) {
+            ids.add(session.queue.removeFirst());
+        }
+
+        // Reuse the prefetched chunk unless answers have reordered the queue since
+        List<CardDto> cards;
+        if (session.prefetch != null && ids.equals(session.prefetchIds)) {
+            cards = session.prefetch.join();
+        } else {
+            if (session.prefetch != null) {
+                session.prefetch.cancel(false);
+            }
+            cards = loadCards(session, ids);
+        }
+        session.prefetch = null;
+        session.prefetchIds = null;
+
+        List<UUID> nextIds = session.queue.stream().limit(count).collect(Collectors.toList());
+        if (!nextIds.isEmpty()) {
+            session.prefetchIds = nextIds;
+            session.prefetch = CompletableFuture.supplyAsync(() -> loadCards(session, nextIds), prefetchExecutor);
+        }
+        return cards;
+    }
+
+    private List<CardDto> loadCards(StudySession session, List<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<UUID, Card> cards = cardRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Card::getId, Function.identity()));
+        Map<UUID, CardProgress> progress = cardProgressRepository.findByUserIdAndCardIdIn(session.userId, ids).stream()
+                .collect(Collectors.toMap(CardProgress::getCardId, Function.identity()));
+
+        List<CardDto> result = new ArrayList<>();
+        for (UUID id : ids) {
+            Card card = cards.get(id);
+            if (card == null) {
+                continue;
+            }
+            CardProgressDto progressDto = progress.containsKey(id)
+                    ? toProgressDto(progress.get(id))
+                    : new CardProgressDto(CardProgress.ProgressStatus.NEW, 0, 0, 0);
+            result.add(new CardDto(card.getId(), card.getFrontText(), card.getBackText(), card.getImageUrl(), progressDto));
+        }
+        return result;
+    }
+
+    private static CardProgressDto toProgressDto(CardProgress cp) {
+        return new CardProgressDto(cp.getStatus(), cp.getTimesReviewed(), cp.getTimesMastered(), cp.getTimesStruggled());
+    }
+
+    private void flush(StudySession session) {
+        if (session.pending.isEmpty()) {
+            return;
+        }
+        try {
+            cardService.reviewCards(session.userId, session.deckId, new ArrayList<>(session.pending));
+        } finally {
+            // A batch that failed is dropped, not retried: one bad answer (say, a card deleted
+            // meanwhile) would otherwise fail every later flush of the session
+            session.pending.clear();
+        }
+    }
+
+    private void flushQuietly(StudySession session) {
+        try {
+            flush(session);
+        } catch (RuntimeException e) {
+            System.err.println("Failed to flush study session " + session.id + ": " + e.getMessage());
+        }
+    }
+
+    private void expireIdleSessions() {
+        long cutoff = System.currentTimeMillis() - idleTimeoutMs;
+        for (StudySession session : sessions.values()) {
+            if (session.lastAccess < cutoff) {
+                synchronized (session) {
+                    flushQuietly(session);
+                    sessions.remove(session.id);
+                }
+            }
+        }
+    }
+
+    private StudySessionDto toDto(StudySession session, List<CardDto> cards) {
+        return new StudySessionDto(session.id, session.deckId, session.cardIds.size(),
+                session.queue.size(), session.answered, cards);
+    }
+
+    private static class StudySession {
+        private final UUID id;
+        private final UUID userId;
+        private final UUID deckId;
+        private final Set<UUID> cardIds;
+        private final LinkedList<UUID> queue;
+        private final List<StudyAnswerRequest> pending = new ArrayList<>();
+        private CompletableFuture<List<CardDto>> prefetch;
+        private List<UUID> prefetchIds;
+        private int answered;
+        private volatile long lastAccess = System.currentTimeMillis();
+
+        private StudySession(UUID id, UUID userId, UUID deckId, List<UUID> orderedCardIds) {
+            this.id = id;
+            this.userId = userId;
+            this.deckId = deckId;
+            this.cardIds = new HashSet<>(orderedCardIds);
+            this.queue = new LinkedList<>(orderedCardIds);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.cardify.service;
+
+import com.cardify.dto.*;
+import com.cardify.entity.Card;
+import com.cardify.entity.CardProgress;
+import com.cardify.entity.Deck;
+import com.cardify.entity.ProgressArchive;
+import com.cardify.repository.CardProgressRepository;
+import com.cardify.repository.CardRepository;
+import com.cardify.repository.DeckRepository;
+import com.cardify.repository.TombstoneRepository;
+import com.cardify.repository.UserRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Service
+public class SyncService {
+
+    private final UserRepository userRepository;
+    private final DeckRepository deckRepository;
+    private final CardRepository cardRepository;
+    private final CardProgressRepository cardProgressRepository;
+    private final TombstoneRepository tombstoneRepository;
+    private final DeckContentService deckContentService;
+    private final ProgressArchiveService progressArchiveService;
+
+    public SyncService(UserRepository userRepository, DeckRepository deckRepository, CardRepository cardRepository,
+                       CardProgressRepository cardProgressRepository, TombstoneRepository tombstoneRepository,
+                       DeckContentService deckContentService, ProgressArchiveService progressArchiveService) {
+        this.userRepository = userRepository;
+        this.deckRepository = deckRepository;
+        this.cardRepository = cardRepository;
+        this.cardProgressRepository = cardProgressRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.deckContentService = deckContentService;
+        this.progressArchiveService = progressArchiveService;
+    }
+
+    /**
+     * Returns everything that changed for the user after the given cursor. A cursor
+     * of 0 returns a full snapshot. The returned cursor is read before the rows, so
+     * a change committed during the read is delivered again on the next call rather
+     * than skipped.
+     *
+     * Clones report the cards they read from their source deck whenever the clone
+     * itself appears in the result. An edit of the source deck advances every clone
+     * in its owner's change sequence, so it reaches the clone owners' deltas.
+     *
+     * A full snapshot also unpacks archived progress, which has no live rows. Deltas
+     * need not: archiving leaves the client's copy correct, and restoring gives the
+     * rows a fresh sequence.
+     */
+    @Transactional(readOnly = true)
+    public SyncResponseDto getChangesSince(UUID userId, long since) {
+        Long cursor = userRepository.findChangeSeqById(userId);
+        boolean fullSync = since <= 0;
+
+        List<Deck> decks = fullSync
+                ? deckRepository.findByUserIdOrderByUpdatedAtDesc(userId)
+                : deckRepository.findByUserIdAndChangeSeqGreaterThan(userId, since);
+        // Keyed by deck and card: a source card appears once under each clone that presents it
+        Map<Map.Entry<UUID, UUID>, SyncCardDto> cards = new LinkedHashMap<>();
+        if (!fullSync) {
+            // Removed markers reach the client as tombstones
+            cardRepository.findByDeckOwnerAndChangeSeqGreaterThan(userId, since).stream()
+                    .filter(card -> !Boolean.TRUE.equals(card.getRemoved()))
+                    .forEach(card -> cards.put(Map.entry(card.getDeckId(), card.getId()), toSyncCard(card, card.getDeckId())));
+        }
+        decks.stream()
+                .filter(deck -> fullSync || deck.getSourceDeckId() != null)
+                .forEach(deck -> deckContentService.getCards(deck)
+                        .forEach(card -> cards.put(Map.entry(deck.getId(), card.getId()), toSyncCard(card, deck.getId()))));
+        List<CardProgress> progress = fullSync
+                ? withArchived(userId, cardProgressRepository.findByUserId(userId))
+                : cardProgressRepository.findByUserIdAndChangeSeqGreaterThan(userId, since);
+        List<TombstoneDto> deleted = fullSync
+                ? List.of()
+                : tombstoneRepository.findByUserIdAndChangeSeqGreaterThan(userId, since).stream()
+                        .map(t -> new TombstoneDto(t.getEntityType(), t.getEntityId()))
+                        .collect(Collectors.toList());
+
+        List<DeckDto> deckDtos = decks.stream().map(deck -> {
+            DeckDto dto = new DeckDto();
+            dto.setId(deck.getId());
+            dto.setTitle(deck.getTitle());
+            dto.setSubject(deck.getSubject());
+            dto.setCreatedAt(deck.getCreatedAt());
+            dto.setUpdatedAt(deck.getUpdatedAt());
+            return dto;
+        }).collect(Collectors.toList());
+
+        List<SyncProgressDto> progressDtos = progress.stream()
+                .map(cp -> new SyncProgressDto(cp.getCardId(), cp.getStatus(), cp.getTimesReviewed(),
+                        cp.getTimesMastered(), cp.getTimesStruggled(), cp.getLastReviewedAt()))
+                .collect(Collectors.toList());
+
+        return new SyncResponseDto(cursor, fullSync, deckDtos, new ArrayList<>(cards.values()), progressDtos, deleted);
+    }
+
+    // Live rows plus archived ones; a live row for an archived card is newer, so it keeps its status and adds the archived counters
+    private List<CardProgress> withArchived(UUID userId, List<CardProgress> live) {
+        Map<UUID, ProgressArchive> archives = progressArchiveService.getArchives(userId);
+        if (archives.isEmpty()) {
+            return live;
+        }
+        Map<UUID, CardProgress> rows = new LinkedHashMap<>();
+        live.forEach(row -> rows.put(row.getCardId(), row));
+        for (ProgressArchive archive : archives.values()) {
+            for (CardProgress archived : progressArchiveService.readRows(archive)) {
+                CardProgress current = rows.get(archived.getCardId());
+                if (current != null) {
+                    // Merged into the detached archived row so the managed one is left untouched
+                    archived.setStatus(current.getStatus());
+                    archived.setTimesReviewed(current.getTimesReviewed() + archived.getTimesReviewed());
+                    archived.setTimesMastered(current.getTimesMastered() + archived.getTimesMastered());
+                    archived.setTimesStruggled(current.getTimesStruggled() + archived.getTimesStruggled());
+                    archived.setLastReviewedAt(current.getLastReviewedAt());
+                }
+                rows.put(archived.getCardId(), archived);
+            }
+        }
+        return new ArrayList<>(rows.values());
+    }
+
+    // Source deck cards are reported under the clone that presents them
+    private SyncCardDto toSyncCard(Card card, UUID deckId) {
+        return new SyncCardDto(card.getId(), deckId, card.getFrontText(), card.getBackText(),
+                card.getImageUrl(), card.getSourceCardId());
+    }
+}
@@ -0,0 +1,23 @@
+package com.cardify.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * Published inside the writing transaction whenever a user's decks or progress
+ * change. Listeners that need committed data use @TransactionalEventListener.
+ */
+@Getter
+@AllArgsConstructor
+public class UserDataChangedEvent {
+
+    private final UUID userId;
+    private final Kind kind;
+    private final UUID deckId;
+
+    public enum Kind {
+        CARD_REVIEWED, DECK_CREATED, DECK_UPDATED, DECK_DELETED, PROGRESS_ARCHIVED, PROGRESS_RESTORED
+    }
+}
@@ -0,0 +1,117 @@
+package com.cardify.service;
+
+import com.cardify.dto.DashboardStatsDto;
+import com.cardify.dto.DeckChangeDto;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fans dashboard and deck changes out to each user's open SSE streams. Emitters
+ * are async servlet responses, so an idle connection holds no request thread.
+ * Pushes and heartbeats are written by a small fixed pool shared by all clients;
+ * a single scheduler thread only decides when heartbeats are due and never
+ * writes to a connection itself.
+ */
+@Component
+public class UserStreamHub {
+
+    private final DashboardService dashboardService;
+    private final long timeoutMs;
+    private final Map<UUID, Set<SseEmitter>> emitters = new ConcurrentHashMap<>();
+    private final ExecutorService fanOutExecutor;
+    private final ScheduledExecutorService heartbeatExecutor = Executors.newSingleThreadScheduledExecutor();
+
+    public UserStreamHub(DashboardService dashboardService,
+                         @Value("${stream.timeout-ms:1800000}") long timeoutMs,
+                         @Value("${stream.fan-out-threads:4}") int fanOutThreads,
+                         @Value("${stream.heartbeat-seconds:25}") long heartbeatSeconds) {
+        this.dashboardService = dashboardService;
+        this.timeoutMs = timeoutMs;
+        this.fanOutExecutor = Executors.newFixedThreadPool(fanOutThreads);
+        heartbeatExecutor.scheduleAtFixedRate(this::sendHeartbeats, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+    }
+
+    public SseEmitter subscribe(UUID userId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Set<SseEmitter> userEmitters = emitters.computeIfAbsent(userId, id -> new CopyOnWriteArraySet<>());
+        userEmitters.add(emitter);
+
+        emitter.onCompletion(() -> remove(userId, emitter));
+        emitter.onTimeout(() -> remove(userId, emitter));
+        emitter.onError(e -> remove(userId, emitter));
+
+        send(userId, emitter, SseEmitter.event().name("stats").data(dashboardService.getDashboardStats(userId)));
+        return emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onUserDataChanged(UserDataChangedEvent event) {
+        UUID userId = event.getUserId();
+        if (!emitters.containsKey(userId)) {
+            return;
+        }
+
+        fanOutExecutor.execute(() -> {
+            Set<SseEmitter> userEmitters = emitters.get(userId);
+            if (userEmitters == null || userEmitters.isEmpty()) {
+                return;
+            }
+
+            // One stats computation per change, shared by every open tab of the user
+            DashboardStatsDto stats = dashboardService.getDashboardStats(userId);
+            DeckChangeDto change = new DeckChangeDto(event.getKind(), event.getDeckId());
+            for (SseEmitter emitter : userEmitters) {
+                send(userId, emitter, SseEmitter.event().name("deck").data(change));
+                send(userId, emitter, SseEmitter.event().name("stats").data(stats));
+            }
+        });
+    }
+
+    public int getConnectionCount() {
+        return emitters.values().stream().mapToInt(Set::size).sum();
+    }
+
+    private void sendHeartbeats() {
+        emitters.forEach((userId, userEmitters) -> fanOutExecutor.execute(() ->
+                userEmitters.forEach(emitter -> send(userId, emitter, SseEmitter.event().comment("heartbeat")))));
+    }
+
+    private void send(UUID userId, SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            remove(userId, emitter);
+            emitter.completeWithError(e);
+        }
+    }
+
+    private void remove(UUID userId, SseEmitter emitter) {
+        emitters.computeIfPresent(userId, (id, userEmitters) -> {
+            userEmitters.remove(emitter);
+            return userEmitters.isEmpty() ? null : userEmitters;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeatExecutor.shutdownNow();
+        fanOutExecutor.shutdownNow();
+        emitters.values().forEach(userEmitters -> userEmitters.forEach(SseEmitter::complete));
+        emitters.clear();
+    }
+}
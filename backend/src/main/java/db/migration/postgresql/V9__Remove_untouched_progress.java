@@ -0,0 +1,42 @@
+package db.migration.postgresql;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+
+/**
+ * Removes the NEW progress rows that createDeck and the seeder used to insert for
+ * every card; a missing row now means NEW. card_progress is the largest table, so
+ * the rows go in small batches, each committed on its own: no long transaction,
+ * no long row locks and no burst of WAL. Flyway still records it once it finishes.
+ * Batches already deleted stay deleted if a run is cut short, so a repaired rerun
+ * only has the remainder left.
+ */
+public class V9__Remove_untouched_progress extends BaseJavaMigration {
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return false;
+    }
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(true);
+        try (PreparedStatement delete = connection.prepareStatement(
+                "DELETE FROM card_progress WHERE id IN ("
+                        + "SELECT id FROM card_progress WHERE status = 'NEW' AND times_reviewed = 0 LIMIT ?)")) {
+            delete.setInt(1, BATCH_SIZE);
+            while (delete.executeUpdate() > 0) {
+                // Each batch commits on its own
+            }
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+}
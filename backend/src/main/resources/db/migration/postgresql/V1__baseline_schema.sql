@@ -0,0 +1,39 @@
+-- Tables as originally created by Hibernate ddl-auto. IF NOT EXISTS lets this
+-- run unchanged against databases that were created before migrations existed.
+
+CREATE TABLE IF NOT EXISTS users (
+    id UUID PRIMARY KEY,
+    email VARCHAR(255) NOT NULL UNIQUE,
+    password_hash VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS decks (
+    id UUID PRIMARY KEY,
+    user_id UUID NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    subject VARCHAR(255),
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS cards (
+    id UUID PRIMARY KEY,
+    deck_id UUID NOT NULL,
+    front_text TEXT NOT NULL,
+    back_text TEXT NOT NULL,
+    image_url VARCHAR(255),
+    created_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS card_progress (
+    id UUID PRIMARY KEY,
+    user_id UUID NOT NULL,
+    card_id UUID NOT NULL,
+    status VARCHAR(255) NOT NULL CHECK (status IN ('NEW', 'LEARNING', 'MASTERED', 'STRUGGLING')),
+    times_reviewed INTEGER NOT NULL,
+    times_mastered INTEGER NOT NULL,
+    times_struggled INTEGER NOT NULL,
+    last_reviewed_at TIMESTAMP(6),
+    UNIQUE (user_id, card_id)
+);
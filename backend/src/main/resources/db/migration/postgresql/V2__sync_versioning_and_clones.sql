@@ -0,0 +1,23 @@
+-- Optimistic locking for review writes
+ALTER TABLE card_progress ADD COLUMN IF NOT EXISTS version BIGINT;
+
+-- Per-user change sequences for delta sync
+ALTER TABLE users ADD COLUMN IF NOT EXISTS change_seq BIGINT DEFAULT 0;
+ALTER TABLE decks ADD COLUMN IF NOT EXISTS change_seq BIGINT;
+ALTER TABLE cards ADD COLUMN IF NOT EXISTS change_seq BIGINT;
+ALTER TABLE card_progress ADD COLUMN IF NOT EXISTS change_seq BIGINT;
+
+CREATE TABLE IF NOT EXISTS tombstones (
+    id UUID PRIMARY KEY,
+    user_id UUID NOT NULL,
+    entity_type VARCHAR(255) NOT NULL CHECK (entity_type IN ('DECK', 'CARD', 'PROGRESS')),
+    entity_id UUID NOT NULL,
+    change_seq BIGINT NOT NULL,
+    deleted_at TIMESTAMP(6) NOT NULL
+);
+
+-- Copy-on-write clones and sharing
+ALTER TABLE decks ADD COLUMN IF NOT EXISTS source_deck_id UUID;
+ALTER TABLE decks ADD COLUMN IF NOT EXISTS shared BOOLEAN;
+ALTER TABLE decks ADD COLUMN IF NOT EXISTS retired BOOLEAN;
+ALTER TABLE cards ADD COLUMN IF NOT EXISTS source_card_id UUID;
@@ -0,0 +1,52 @@
+-- Indexes shaped after the queries the services actually run. Names are stable
+-- so later migrations can replace them.
+
+-- Quick review: non-mastered progress per user ordered by status, then oldest review first.
+-- Partial, because MASTERED rows dominate over time and are never read by this path.
+CREATE INDEX IF NOT EXISTS idx_card_progress_review_queue
+    ON card_progress (user_id, status, last_reviewed_at)
+    INCLUDE (card_id)
+    WHERE status <> 'MASTERED';
+
+-- Dashboard and deck counters by status; covering so counts are index-only scans
+CREATE INDEX IF NOT EXISTS idx_card_progress_user_status
+    ON card_progress (user_id, status)
+    INCLUDE (card_id);
+
+-- Reviewed-today counter
+CREATE INDEX IF NOT EXISTS idx_card_progress_user_reviewed
+    ON card_progress (user_id, last_reviewed_at)
+    WHERE last_reviewed_at IS NOT NULL;
+
+-- Progress cleanup when cards are removed
+CREATE INDEX IF NOT EXISTS idx_card_progress_card
+    ON card_progress (card_id);
+
+-- Deck pages list cards in creation order
+CREATE INDEX IF NOT EXISTS idx_cards_deck_created
+    ON cards (deck_id, created_at);
+
+-- Deck lists, most recently updated first
+CREATE INDEX IF NOT EXISTS idx_decks_user_updated
+    ON decks (user_id, updated_at DESC);
+
+-- Delta sync
+CREATE INDEX IF NOT EXISTS idx_decks_user_change_seq
+    ON decks (user_id, change_seq);
+CREATE INDEX IF NOT EXISTS idx_cards_deck_change_seq
+    ON cards (deck_id, change_seq);
+CREATE INDEX IF NOT EXISTS idx_card_progress_user_change_seq
+    ON card_progress (user_id, change_seq);
+CREATE INDEX IF NOT EXISTS idx_tombstones_user_change_seq
+    ON tombstones (user_id, change_seq);
+
+-- Clone resolution
+CREATE INDEX IF NOT EXISTS idx_decks_source_deck
+    ON decks (source_deck_id, user_id)
+    WHERE source_deck_id IS NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_cards_source_card
+    ON cards (source_card_id)
+    WHERE source_card_id IS NOT NULL;
+
+-- Single-column status index from the original Supabase schema: too unselective to be used
+DROP INDEX IF EXISTS idx_card_progress_status;
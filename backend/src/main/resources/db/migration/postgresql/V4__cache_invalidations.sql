@@ -0,0 +1,12 @@
+-- Outbox for cluster-wide cache invalidation. Rows are written in the same transaction
+-- as the change and announced with NOTIFY; listeners replay by seq after a reconnect.
+CREATE TABLE cache_invalidations (
+    seq BIGSERIAL PRIMARY KEY,
+    entity_type VARCHAR(16) NOT NULL,
+    user_id UUID,
+    entity_id UUID,
+    created_at TIMESTAMP NOT NULL DEFAULT now()
+);
+
+-- Retention sweep
+CREATE INDEX idx_cache_invalidations_created_at ON cache_invalidations (created_at);
@@ -0,0 +1,2 @@
+-- A clone hides a source deck card by storing a copy-on-write row marked as removed
+ALTER TABLE cards ADD COLUMN IF NOT EXISTS removed BOOLEAN;
@@ -0,0 +1,21 @@
+-- Cold tier for progress: a deck's progress rows for its owner, gzip-compressed
+-- column by column, with status counts so deck lists never need to unpack it.
+-- A row here means the deck is archived; reads restore it into card_progress.
+CREATE TABLE card_progress_archive (
+    id UUID PRIMARY KEY,
+    user_id UUID NOT NULL,
+    deck_id UUID NOT NULL UNIQUE,
+    payload BYTEA NOT NULL,
+    card_count INTEGER NOT NULL,
+    new_count INTEGER NOT NULL,
+    learning_count INTEGER NOT NULL,
+    mastered_count INTEGER NOT NULL,
+    struggling_count INTEGER NOT NULL,
+    last_reviewed_at TIMESTAMP(6),
+    archived_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX idx_card_progress_archive_user_id ON card_progress_archive (user_id);
+
+-- Archiver candidate scan: oldest untouched decks first
+CREATE INDEX IF NOT EXISTS idx_decks_updated_at ON decks (updated_at);
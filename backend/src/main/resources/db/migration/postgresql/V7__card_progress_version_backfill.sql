@@ -0,0 +1,6 @@
+-- V2 added the optimistic-lock column without a value for existing rows; Hibernate
+-- cannot increment a null version, so reviews of those rows failed
+UPDATE card_progress SET version = 0 WHERE version IS NULL;
+
+ALTER TABLE card_progress ALTER COLUMN version SET DEFAULT 0;
+ALTER TABLE card_progress ALTER COLUMN version SET NOT NULL;
@@ -0,0 +1,4 @@
+-- (user_id, status) repeats the leading columns of idx_card_progress_review_queue, and
+-- the status counts it was added for are now served from memory; user-scoped scans
+-- use the (user_id, card_id) key or idx_card_progress_user_change_seq instead
+DROP INDEX IF EXISTS idx_card_progress_user_status;
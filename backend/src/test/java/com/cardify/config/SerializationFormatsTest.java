@@ -0,0 +1,63 @@
+package com.cardify.config;
+
+import com.cardify.dto.CardDto;
+import com.cardify.dto.CardProgressDto;
+import com.cardify.entity.CardProgress;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A 2,000 card study payload in each format the API serves. Round trips must be
+ * lossless and both binary bodies smaller than JSON.
+ */
+class SerializationFormatsTest {
+
+    private static final int CARDS = 2000;
+
+    @Test
+    void binaryFormatsAreLosslessAndSmallerThanJson() throws Exception {
+        List<CardDto> cards = cards();
+        Map<String, ObjectMapper> mappers = Map.of(
+                "json", Jackson2ObjectMapperBuilder.json().build(),
+                "cbor", Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build(),
+                "smile", Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()).build());
+
+        int jsonSize = mappers.get("json").writeValueAsBytes(cards).length;
+        for (String format : List.of("json", "cbor", "smile")) {
+            ObjectMapper mapper = mappers.get(format);
+            byte[] body = mapper.writeValueAsBytes(cards);
+            assertEquals(cards, mapper.readValue(body, new TypeReference<List<CardDto>>() { }), format + " round trip");
+            if (!format.equals("json")) {
+                assertTrue(body.length < jsonSize, format + " body should be smaller than JSON");
+            }
+        }
+    }
+
+    // Realistic text lengths, with about a third of the cards carrying an image
+    private static List<CardDto> cards() {
+        Random random = new Random(42);
+        CardProgress.ProgressStatus[] statuses = CardProgress.ProgressStatus.values();
+        List<CardDto> cards = new ArrayList<>(CARDS);
+        for (int i = 0; i < CARDS; i++) {
+            CardProgressDto progress = new CardProgressDto(statuses[random.nextInt(statuses.length)],
+                    random.nextInt(40), random.nextInt(20), random.nextInt(10));
+            cards.add(new CardDto(UUID.randomUUID(), "What is the meaning of term " + i + "?",
+                    "Term " + i + " describes concept " + random.nextInt(1000) + " in chapter " + random.nextInt(30) + ".",
+                    i % 3 == 0 ? "/api/images/" + UUID.randomUUID() : null, progress));
+        }
+        return cards;
+    }
+}
@@ -0,0 +1,111 @@
+package com.cardify.config;
+
+import com.cardify.dto.DeckDto;
+import com.cardify.entity.Card;
+import com.cardify.entity.Deck;
+import com.cardify.entity.User;
+import com.cardify.repository.CardRepository;
+import com.cardify.repository.DeckRepository;
+import com.cardify.repository.UserRepository;
+import com.cardify.security.JwtTokenProvider;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The deck endpoint answers in the format the Accept header asks for, and each
+ * binary body decodes back into the same deck.
+ */
+@SpringBootTest(properties = {
+        "seeder.enabled=false",
+        "warmup.enabled=false",
+        "progress.archive.enabled=false"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class SerializationNegotiationTest {
+
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DeckRepository deckRepository;
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    private String token;
+    private UUID deckId;
+
+    @BeforeEach
+    void createDeck() {
+        User user = new User();
+        user.setEmail("formats-" + UUID.randomUUID() + "@example.com");
+        user.setPasswordHash("unused");
+        UUID userId = userRepository.save(user).getId();
+        token = jwtTokenProvider.generateToken(user.getEmail());
+
+        Deck deck = new Deck();
+        deck.setUserId(userId);
+        deck.setTitle("Formats");
+        deck.setSubject("Serialization");
+        deckId = deckRepository.save(deck).getId();
+
+        Card card = new Card();
+        card.setDeckId(deckId);
+        card.setFrontText("front");
+        card.setBackText("back");
+        cardRepository.save(card);
+    }
+
+    @Test
+    void cborIsServedForAcceptCbor() throws Exception {
+        assertDeckIn(MediaType.APPLICATION_CBOR, Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build());
+    }
+
+    @Test
+    void smileIsServedForAcceptSmile() throws Exception {
+        assertDeckIn(SMILE, Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()).build());
+    }
+
+    private void assertDeckIn(MediaType format, ObjectMapper decoder) throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/decks/{deckId}", deckId)
+                        .header("Authorization", "Bearer " + token)
+                        .accept(format))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(format))
+                .andReturn();
+
+        DeckDto deck = decoder.readValue(result.getResponse().getContentAsByteArray(), DeckDto.class);
+        assertEquals(deckId, deck.getId());
+        assertEquals("Formats", deck.getTitle());
+        assertEquals(1, deck.getCards().size());
+        assertEquals("front", deck.getCards().get(0).getFrontText());
+        assertEquals("back", deck.getCards().get(0).getBackText());
+    }
+}
@@ -0,0 +1,77 @@
+package com.cardify.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UuidV7GeneratorTest {
+
+    private static final int THREADS = 8;
+    private static final int IDS_PER_THREAD = 100_000;
+
+    @Test
+    void idsAreVersion7WithTheRfcVariantAndCurrentTimestamp() {
+        long before = System.currentTimeMillis();
+        UUID id = UuidV7Generator.next();
+        long after = System.currentTimeMillis();
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+        long millis = id.getMostSignificantBits() >>> 16;
+        // Counter overflow carries into the timestamp, so after a burst of ids it may run ahead of the clock
+        assertTrue(millis >= before && millis <= after + 1000, "timestamp " + millis + " outside " + before + ".." + after);
+    }
+
+    @Test
+    void concurrentIdsAreUniqueAndIncreasingPerThread() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<long[]>> workers = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                workers.add(executor.submit(() -> {
+                    start.await();
+                    // Timestamp and counter bits only: the remaining bits are random
+                    long[] stamps = new long[IDS_PER_THREAD];
+                    UUID[] ids = new UUID[IDS_PER_THREAD];
+                    for (int i = 0; i < IDS_PER_THREAD; i++) {
+                        ids[i] = UuidV7Generator.next();
+                    }
+                    for (int i = 0; i < IDS_PER_THREAD; i++) {
+                        long msb = ids[i].getMostSignificantBits();
+                        stamps[i] = ((msb >>> 16) << 12) | (msb & 0xFFFL);
+                    }
+                    return stamps;
+                }));
+            }
+            start.countDown();
+
+            Set<Long> seen = new HashSet<>(THREADS * IDS_PER_THREAD * 2);
+            for (Future<long[]> worker : workers) {
+                long[] stamps = worker.get(60, TimeUnit.SECONDS);
+                for (int i = 0; i < stamps.length; i++) {
+                    if (i > 0) {
+                        assertTrue(stamps[i] > stamps[i - 1], "ids of one thread must strictly increase");
+                    }
+                    // Every id takes its own timestamp/counter value, so these alone must be unique across threads
+                    assertTrue(seen.add(stamps[i]), "duplicate timestamp/counter " + stamps[i]);
+                }
+            }
+            assertEquals(THREADS * IDS_PER_THREAD, seen.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.cardify.service;
+
+import com.cardify.dto.CardRequest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BatchingGenerationClientTest {
+
+    private static final List<String> TOPICS = List.of("Photosynthesis", "Volcanoes", "Tides", "Fractions", "Verbs");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    // Request bodies of the upstream batch calls, in arrival order
+    private final List<JsonNode> batchCalls = new CopyOnWriteArrayList<>();
+    private HttpServer provider;
+    private BatchingGenerationClient client;
+
+    @BeforeEach
+    void startProvider() throws Exception {
+        provider = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        // Answers each request with count cards named after its topic
+        provider.createContext("/v1/cards/batch", exchange -> {
+            JsonNode body = objectMapper.readTree(exchange.getRequestBody());
+            batchCalls.add(body);
+            ObjectNode response = objectMapper.createObjectNode();
+            ArrayNode results = response.putArray("results");
+            for (JsonNode request : body.path("requests")) {
+                ArrayNode cards = results.addObject().putArray("cards");
+                for (int i = 0; i < request.path("count").asInt(); i++) {
+                    cards.addObject()
+                            .put("frontText", request.path("topic").asText() + " " + i)
+                            .put("backText", "answer " + i);
+                }
+            }
+            byte[] bytes = objectMapper.writeValueAsBytes(response);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        });
+        provider.start();
+
+        // A wide window, so every caller below lands in the same batch
+        client = new BatchingGenerationClient(objectMapper, "http://localhost:" + provider.getAddress().getPort(),
+                "test-key", "cards-test", 500, 16, 60, 1000, 5000);
+    }
+
+    @AfterEach
+    void stopProvider() {
+        client.shutdown();
+        provider.stop(0);
+    }
+
+    @Test
+    void concurrentCallersShareOneBatchCallAndEachGetsItsOwnCards() throws Exception {
+        ExecutorService callers = Executors.newFixedThreadPool(TOPICS.size() + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<CardRequest>>> results = new ArrayList<>();
+        try {
+            for (String topic : TOPICS) {
+                results.add(callers.submit(() -> {
+                    start.await();
+                    return client.generate(topic, 3).get(5, TimeUnit.SECONDS);
+                }));
+            }
+            // Same topic and count as the first caller, spelled differently: shares its slot
+            Future<List<CardRequest>> duplicate = callers.submit(() -> {
+                start.await();
+                return client.generate("  photosynthesis ", 3).get(5, TimeUnit.SECONDS);
+            });
+            start.countDown();
+
+            for (int i = 0; i < TOPICS.size(); i++) {
+                List<CardRequest> cards = results.get(i).get(10, TimeUnit.SECONDS);
+                assertEquals(3, cards.size());
+                for (int c = 0; c < cards.size(); c++) {
+                    assertEquals(TOPICS.get(i).toLowerCase() + " " + c, cards.get(c).getFrontText());
+                    assertEquals("answer " + c, cards.get(c).getBackText());
+                }
+            }
+            assertEquals("photosynthesis 0", duplicate.get(10, TimeUnit.SECONDS).get(0).getFrontText());
+        } finally {
+            callers.shutdownNow();
+        }
+
+        assertEquals(1, batchCalls.size(), "upstream batch calls");
+        assertEquals(TOPICS.size(), batchCalls.get(0).path("requests").size(), "requests in the batch");
+        assertEquals("cards-test", batchCalls.get(0).path("model").asText());
+    }
+
+    @Test
+    void repeatedRequestIsServedFromTheCache() throws Exception {
+        List<CardRequest> first = client.generate("Volcanoes", 2).get(5, TimeUnit.SECONDS);
+        assertEquals(1, batchCalls.size());
+
+        CompletableFuture<List<CardRequest>> repeat = client.generate("volcanoes", 2);
+        assertTrue(repeat.isDone(), "cached result completes immediately");
+        List<CardRequest> cached = repeat.get();
+        assertEquals(1, batchCalls.size(), "no upstream call for a cached result");
+        assertEquals(first.size(), cached.size());
+        assertEquals(first.get(0).getFrontText(), cached.get(0).getFrontText());
+
+        // Callers get copies, so changing one result leaves the cached cards intact
+        cached.get(0).setFrontText("edited");
+        assertEquals("volcanoes 0", client.generate("Volcanoes", 2).get().get(0).getFrontText());
+    }
+}
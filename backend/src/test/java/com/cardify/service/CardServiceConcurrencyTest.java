@@ -0,0 +1,104 @@
+package com.cardify.service;
+
+import com.cardify.dto.ReviewRequest;
+import com.cardify.entity.Card;
+import com.cardify.entity.CardProgress;
+import com.cardify.entity.Deck;
+import com.cardify.entity.User;
+import com.cardify.repository.CardProgressRepository;
+import com.cardify.repository.CardRepository;
+import com.cardify.repository.DeckRepository;
+import com.cardify.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Many threads reviewing the same card of one user: every review must be counted,
+ * including the first ones racing to create the progress row.
+ */
+@SpringBootTest(properties = {
+        "seeder.enabled=false",
+        "warmup.enabled=false",
+        "progress.archive.enabled=false"
+})
+@ActiveProfiles("h2")
+class CardServiceConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int REVIEWS_PER_THREAD = 25;
+
+    @Autowired
+    private CardService cardService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DeckRepository deckRepository;
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired
+    private CardProgressRepository cardProgressRepository;
+
+    @Test
+    void concurrentReviewsOfOneCardAreAllCounted() throws Exception {
+        User user = new User();
+        user.setEmail("reviewer-" + UUID.randomUUID() + "@example.com");
+        user.setPasswordHash("unused");
+        UUID userId = userRepository.save(user).getId();
+
+        Deck deck = new Deck();
+        deck.setUserId(userId);
+        deck.setTitle("Concurrency");
+        deckRepository.save(deck);
+
+        Card card = new Card();
+        card.setDeckId(deck.getId());
+        card.setFrontText("front");
+        card.setBackText("back");
+        UUID cardId = cardRepository.save(card).getId();
+
+        ReviewRequest request = new ReviewRequest();
+        request.setAction(CardProgress.ProgressStatus.MASTERED);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> workers = new ArrayList<>();
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                workers.add(executor.submit(() -> {
+                    start.await();
+                    for (int r = 0; r < REVIEWS_PER_THREAD; r++) {
+                        cardService.reviewCard(cardId, userId, request);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        CardProgress progress = cardProgressRepository.findByUserIdAndCardId(userId, cardId).orElseThrow();
+        assertEquals(THREADS * REVIEWS_PER_THREAD, progress.getTimesReviewed());
+        assertEquals(THREADS * REVIEWS_PER_THREAD, progress.getTimesMastered());
+    }
+}
@@ -35,11 +35,13 @@ CREATE TABLE IF NOT EXISTS card_progress (
 );
 
 -- Create indexes for better performance
-CREATE INDEX IF NOT EXISTS idx_decks_user_id ON decks(user_id);
-CREATE INDEX IF NOT EXISTS idx_cards_deck_id ON cards(deck_id);
-CREATE INDEX IF NOT EXISTS idx_card_progress_user_id ON card_progress(user_id);
+-- (user_id, card_id) lookups are served by the UNIQUE constraint's index
+CREATE INDEX IF NOT EXISTS idx_decks_user_updated ON decks(user_id, updated_at DESC);
+CREATE INDEX IF NOT EXISTS idx_cards_deck_created ON cards(deck_id, created_at);
 CREATE INDEX IF NOT EXISTS idx_card_progress_card_id ON card_progress(card_id);
-CREATE INDEX IF NOT EXISTS idx_card_progress_status ON card_progress(status);
+CREATE INDEX IF NOT EXISTS idx_card_progress_user_status ON card_progress(user_id, status) INCLUDE (card_id);
+CREATE INDEX IF NOT EXISTS idx_card_progress_review_queue ON card_progress(user_id, status, last_reviewed_at)
+  INCLUDE (card_id) WHERE status <> 'MASTERED';
 
 -- Enable Row Level Security (RLS)
 ALTER TABLE decks ENABLE ROW LEVEL SECURITY;